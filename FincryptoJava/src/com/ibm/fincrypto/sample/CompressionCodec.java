@@ -0,0 +1,55 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 暗号化の前に平文を圧縮する圧縮方式のインターフェースです。圧縮方式の名前は暗号化結果データに記録され、
+ * 復号側は{@link CompressionCodecs#forName(String)}で同じ圧縮方式を取得して自動的に伸長します。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public interface CompressionCodec {
+
+    /**
+     * 圧縮方式の名前を返します。
+     * 
+     * @return 圧縮方式の名前
+     * @since 1.10
+     */
+    public String getName();
+
+    /**
+     * 書き込まれたデータを圧縮して出力先に書き込むストリームを返します。
+     * 
+     * @param out 圧縮されたデータの出力先
+     * @return 圧縮ストリーム
+     * @throws IOException ストリームの作成で例外がスローされた場合
+     * @since 1.10
+     */
+    public OutputStream compress(OutputStream out) throws IOException;
+
+    /**
+     * 入力元のデータを伸長して読み込むストリームを返します。
+     * 
+     * @param in 圧縮されたデータの入力元
+     * @return 伸長ストリーム
+     * @throws IOException ストリームの作成で例外がスローされた場合
+     * @since 1.10
+     */
+    public InputStream decompress(InputStream in) throws IOException;
+}
@@ -0,0 +1,156 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 圧縮方式を名前で管理するクラスです。Deflate形式({@link DeflateCodec})はあらかじめ登録されています。
+ * 独自の圧縮方式を使用する場合は、暗号化側と復号側の両方で{@link #register(CompressionCodec)}により登録してください。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public final class CompressionCodecs {
+
+    /**
+     * 登録されている圧縮方式
+     */
+    private static final Map<String, CompressionCodec> CODECS = new ConcurrentHashMap<>();
+
+    /**
+     * 伸長後の最大バイト数のデフォルト値 (64MiB)
+     */
+    public static final int DEFAULT_MAX_DECOMPRESSED_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * 伸長後の最大バイト数
+     */
+    private static volatile int maxDecompressedSize = DEFAULT_MAX_DECOMPRESSED_SIZE;
+
+    static {
+        register(new DeflateCodec());
+    }
+
+    /**
+     * インスタンス化を禁止するためのコンストラクタ。
+     */
+    private CompressionCodecs() {
+    }
+
+    /**
+     * 圧縮方式を登録します。同じ名前の圧縮方式が登録済みの場合は置き換えます。
+     * 
+     * @param codec 圧縮方式
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public static void register(CompressionCodec codec) throws IllegalArgumentException {
+        if (codec == null) {
+            throw new IllegalArgumentException("codec must be not null.");
+        }
+        CODECS.put(codec.getName(), codec);
+    }
+
+    /**
+     * 名前に対応する圧縮方式を返します。
+     * 
+     * @param name 圧縮方式の名前
+     * @return 圧縮方式
+     * @throws IllegalArgumentException 名前に対応する圧縮方式が登録されていない場合
+     * @since 1.10
+     */
+    public static CompressionCodec forName(String name) throws IllegalArgumentException {
+        CompressionCodec codec = (name == null ? null : CODECS.get(name));
+        if (codec == null) {
+            throw new IllegalArgumentException("unknown compression codec: " + name);
+        }
+        return codec;
+    }
+
+    /**
+     * {@link #decompress(String, byte[])}で伸長後の最大バイト数を設定します。
+     * RSA公開鍵は公開されているため、誰でも極端に圧縮率の高いデータを暗号化できます。
+     * 伸長時のメモリー使用量はこの値で制限されます。
+     * 
+     * @param maxSize 伸長後の最大バイト数
+     * @throws IllegalArgumentException 正でない値が指定された場合
+     * @since 1.10
+     */
+    public static void setMaxDecompressedSize(int maxSize) throws IllegalArgumentException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive.");
+        }
+        maxDecompressedSize = maxSize;
+    }
+
+    /**
+     * {@link #decompress(String, byte[])}で伸長後の最大バイト数を返します。
+     * 
+     * @return 伸長後の最大バイト数
+     * @since 1.10
+     */
+    public static int getMaxDecompressedSize() {
+        return maxDecompressedSize;
+    }
+
+    /**
+     * 名前に対応する圧縮方式でバイト列を伸長します。伸長後のバイト数は{@link #getMaxDecompressedSize()}までに制限されます。
+     * 
+     * @param name 圧縮方式の名前
+     * @param data 圧縮されたバイト列
+     * @return 伸長されたバイト列
+     * @throws IOException 伸長処理で例外がスローされた場合、もしくは伸長後のバイト数が上限を超える場合
+     * @throws IllegalArgumentException 名前に対応する圧縮方式が登録されていない場合
+     * @since 1.10
+     */
+    public static byte[] decompress(String name, byte[] data) throws IOException, IllegalArgumentException {
+        return decompress(name, data, maxDecompressedSize);
+    }
+
+    /**
+     * 名前に対応する圧縮方式で、伸長後の最大バイト数を指定してバイト列を伸長します。
+     * 
+     * @param name 圧縮方式の名前
+     * @param data 圧縮されたバイト列
+     * @param maxSize 伸長後の最大バイト数
+     * @return 伸長されたバイト列
+     * @throws IOException 伸長処理で例外がスローされた場合、もしくは伸長後のバイト数が上限を超える場合
+     * @throws IllegalArgumentException 名前に対応する圧縮方式が登録されていない場合、もしくは最大バイト数が正でない場合
+     * @since 1.10
+     */
+    public static byte[] decompress(String name, byte[] data, int maxSize)
+            throws IOException, IllegalArgumentException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive.");
+        }
+        // 伸長後の長さは信頼できないため、初期容量は圧縮されたバイト列の長さ以内にとどめる
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.min(Math.max(data.length, 32), maxSize));
+        try (InputStream is = forName(name).decompress(new ByteArrayInputStream(data))) {
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = is.read(buf)) != -1) {
+                if (n > maxSize - bos.size()) {
+                    throw new IOException("decompressed data exceeds the limit of " + maxSize + " bytes.");
+                }
+                bos.write(buf, 0, n);
+            }
+        }
+        return bos.toByteArray();
+    }
+}
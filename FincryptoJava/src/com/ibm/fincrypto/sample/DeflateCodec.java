@@ -0,0 +1,117 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Deflate形式 (zlib) の圧縮方式です。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class DeflateCodec implements CompressionCodec {
+
+    /**
+     * 圧縮方式の名前
+     */
+    public static final String NAME = "deflate";
+    /**
+     * ストリームのバッファ長
+     */
+    private static final int BUFFER_SIZE = 8192;
+    /**
+     * 圧縮レベル
+     */
+    private final int level;
+
+    /**
+     * コンストラクタ。デフォルトの圧縮レベルを使用します。
+     * 
+     * @since 1.10
+     */
+    public DeflateCodec() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * 圧縮レベルを引数に取るコンストラクタ。
+     * 
+     * @param level 圧縮レベル (0から9、もしくは<code>Deflater.DEFAULT_COMPRESSION</code>)
+     * @since 1.10
+     */
+    public DeflateCodec(int level) {
+        this.level = level;
+    }
+
+    /**
+     * 圧縮方式の名前を返します。
+     * 
+     * @return "deflate"
+     * @since 1.10
+     */
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Deflate形式で圧縮するストリームを返します。ストリームを閉じるとDeflaterのネイティブ資源も解放されます。
+     * 
+     * @param out 圧縮されたデータの出力先
+     * @return 圧縮ストリーム
+     * @since 1.10
+     */
+    @Override
+    public OutputStream compress(OutputStream out) {
+        final Deflater deflater = new Deflater(level);
+        return new DeflaterOutputStream(out, deflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * Deflate形式のデータを伸長するストリームを返します。ストリームを閉じるとInflaterのネイティブ資源も解放されます。
+     * 
+     * @param in 圧縮されたデータの入力元
+     * @return 伸長ストリーム
+     * @since 1.10
+     */
+    @Override
+    public InputStream decompress(InputStream in) {
+        final Inflater inflater = new Inflater();
+        return new InflaterInputStream(in, inflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+}
@@ -34,6 +34,16 @@ public class EncryptionOutputData {
      */
     private byte[] encryptedKey = null;
 
+    /**
+     * AES鍵の暗号化に使用したRSA公開鍵の鍵ID (フィンガープリント) です。
+     */
+    private byte[] keyId = null;
+
+    /**
+     * 暗号化の前に平文に適用した圧縮方式の名前です。圧縮していない場合は<code>null</code>です。
+     */
+    private String compression = null;
+
     /**
      * 暗号化されたデータを返します。
      * 
@@ -64,6 +74,47 @@ public class EncryptionOutputData {
         return encryptedKey;
     }
 
+    /**
+     * AES鍵の暗号化に使用したRSA公開鍵の鍵IDを返します。鍵IDは公開鍵のフィンガープリントで、
+     * 復号側で{@link com.ibm.fincrypto.sample.key.KeyRing}から秘密鍵を選択するために使用します。
+     * 
+     * @return 鍵ID。記録されていない場合は<code>null</code>
+     * @since 1.10
+     */
+    public byte[] getKeyId() {
+        return keyId;
+    }
+
+    /**
+     * 暗号化の前に平文に適用した圧縮方式の名前を返します。
+     * 
+     * @return 圧縮方式の名前。圧縮していない場合は<code>null</code>
+     * @since 1.10
+     */
+    public String getCompression() {
+        return compression;
+    }
+
+    /**
+     * 暗号化されたAES鍵と鍵IDのみを置き換えた暗号化結果データを返します。RSA鍵のローテーションで、
+     * 暗号化されたデータを復号せずにAES鍵だけを新しいRSA公開鍵で暗号化し直す場合に使用します。
+     * 暗号化されたデータ、初期化ベクトル、圧縮方式はこのインスタンスと共有します。
+     * 
+     * @param newEncryptedKey 新しいRSA公開鍵で暗号化されたAES鍵
+     * @param newKeyId 新しいRSA公開鍵の鍵ID
+     * @return 新しい暗号化結果データ
+     * @since 1.10
+     */
+    public EncryptionOutputData withEncryptedKey(byte[] newEncryptedKey, byte[] newKeyId) {
+        EncryptionOutputData data = new EncryptionOutputData();
+        data.cipherText = cipherText;
+        data.initialVector = initialVector;
+        data.compression = compression;
+        data.encryptedKey = newEncryptedKey;
+        data.keyId = newKeyId;
+        return data;
+    }
+
     /**
      * 暗号化されたデータを設定します。
      * 
@@ -94,4 +145,24 @@ public class EncryptionOutputData {
         this.encryptedKey = encryptedKey;
     }
 
+    /**
+     * AES鍵の暗号化に使用したRSA公開鍵の鍵IDを設定します。
+     * 
+     * @param keyId 鍵ID
+     * @since 1.10
+     */
+    void setKeyId(byte[] keyId) {
+        this.keyId = keyId;
+    }
+
+    /**
+     * 暗号化の前に平文に適用した圧縮方式の名前を設定します。
+     * 
+     * @param compression 圧縮方式の名前
+     * @since 1.10
+     */
+    void setCompression(String compression) {
+        this.compression = compression;
+    }
+
 }
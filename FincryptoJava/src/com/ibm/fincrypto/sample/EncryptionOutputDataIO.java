@@ -0,0 +1,221 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 暗号化結果データをバイト列に変換するクラスです。1件のデータは以下の構成で、複数のデータを連続して書き込むことができます。
+ * <ul>
+ * <li>形式のバージョン (1バイト)
+ * <li>初期化ベクトルの長さ (1バイト) とその値
+ * <li>暗号化されたAES鍵の長さ (2バイト) とその値
+ * <li>鍵IDの長さ (1バイト、鍵IDがない場合は0) とその値
+ * <li>圧縮方式の名前の長さ (1バイト、圧縮していない場合は0) とそのUTF-8の値
+ * <li>暗号化されたデータの長さ (4バイト) とその値
+ * </ul>
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public final class EncryptionOutputDataIO {
+
+    /**
+     * 形式のバージョン
+     */
+    private static final int VERSION = 1;
+    /**
+     * 長さを1バイトで記録する項目 (初期化ベクトル、鍵IDおよび圧縮方式の名前) の最大の長さ
+     */
+    private static final int MAX_BYTE_LENGTH = 0xFF;
+    /**
+     * 長さを2バイトで記録する項目 (暗号化されたAES鍵) の最大の長さ
+     */
+    private static final int MAX_SHORT_LENGTH = 0xFFFF;
+
+    /**
+     * インスタンス化を禁止するためのコンストラクタ。
+     */
+    private EncryptionOutputDataIO() {
+    }
+
+    /**
+     * 暗号化結果データを書き込みます。各項目の長さは書き込む前に確認するため、
+     * {@link #read(DataInputStream)}で読み込めないデータは何も書き込まずに拒否します。
+     * 
+     * @param out 出力先
+     * @param data 暗号化結果データ
+     * @throws IOException 書き込みで例外がスローされた場合
+     * @throws IllegalArgumentException 項目の長さがこの形式で記録できる長さを超える場合
+     * @since 1.10
+     */
+    public static void write(DataOutput out, EncryptionOutputData data) throws IOException, IllegalArgumentException {
+        byte[] keyId = data.getKeyId() == null ? new byte[0] : data.getKeyId();
+        byte[] compression = data.getCompression() == null ? new byte[0]
+                : data.getCompression().getBytes(StandardCharsets.UTF_8);
+        checkLength("initial vector", data.getInitialVector().length, MAX_BYTE_LENGTH);
+        checkLength("encrypted key", data.getEncryptedKey().length, MAX_SHORT_LENGTH);
+        checkLength("key id", keyId.length, MAX_BYTE_LENGTH);
+        checkLength("compression name", compression.length, MAX_BYTE_LENGTH);
+        out.writeByte(VERSION);
+        out.writeByte(data.getInitialVector().length);
+        out.write(data.getInitialVector());
+        out.writeShort(data.getEncryptedKey().length);
+        out.write(data.getEncryptedKey());
+        out.writeByte(keyId.length);
+        out.write(keyId);
+        out.writeByte(compression.length);
+        out.write(compression);
+        out.writeInt(data.getCipherText().length);
+        out.write(data.getCipherText());
+    }
+
+    /**
+     * 暗号化結果データを1件読み込みます。
+     * 
+     * @param in 入力元
+     * @return 暗号化結果データ。入力元が終端に達している場合は<code>null</code>
+     * @throws IOException 読み込みで例外がスローされた場合、もしくはデータの形式が不正な場合
+     * @since 1.10
+     */
+    public static EncryptionOutputData read(DataInputStream in) throws IOException {
+        return read(in, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 暗号化されたデータの長さの上限を指定して、暗号化結果データを1件読み込みます。
+     * 長さは領域を確保する前に確認するため、信頼できない入力元から読み込む場合に使用します。
+     * 
+     * @param in 入力元
+     * @param maxCipherTextLength 暗号化されたデータの長さの上限 (バイト)
+     * @return 暗号化結果データ。入力元が終端に達している場合は<code>null</code>
+     * @throws IOException 読み込みで例外がスローされた場合、もしくはデータの形式が不正な場合、もしくは長さが上限を超える場合
+     * @since 1.10
+     */
+    public static EncryptionOutputData read(DataInputStream in, int maxCipherTextLength) throws IOException {
+        int version = in.read();
+        if (version < 0) {
+            return null;
+        }
+        if (version != VERSION) {
+            throw new IOException("unsupported record version: " + version);
+        }
+        try {
+            EncryptionOutputData data = new EncryptionOutputData();
+            data.setInitialVector(readBytes(in, in.readUnsignedByte()));
+            data.setEncryptedKey(readBytes(in, in.readUnsignedShort()));
+            byte[] keyId = readBytes(in, in.readUnsignedByte());
+            data.setKeyId(keyId.length == 0 ? null : keyId);
+            byte[] compression = readBytes(in, in.readUnsignedByte());
+            data.setCompression(compression.length == 0 ? null : new String(compression, StandardCharsets.UTF_8));
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("corrupted record.");
+            }
+            if (length > maxCipherTextLength) {
+                throw new IOException("cipher text length " + length + " exceeds the limit of " + maxCipherTextLength
+                        + " bytes.");
+            }
+            data.setCipherText(readBytes(in, length));
+            return data;
+        } catch (EOFException e) {
+            throw new IOException("truncated record.", e);
+        }
+    }
+
+    /**
+     * 暗号化結果データを書き込んだ場合のバイト数を返します。
+     * 
+     * @param data 暗号化結果データ
+     * @return バイト数
+     * @since 1.10
+     */
+    public static int sizeOf(EncryptionOutputData data) {
+        int keyIdLength = data.getKeyId() == null ? 0 : data.getKeyId().length;
+        int compressionLength = data.getCompression() == null ? 0
+                : data.getCompression().getBytes(StandardCharsets.UTF_8).length;
+        return 1 + 1 + data.getInitialVector().length + 2 + data.getEncryptedKey().length + 1 + keyIdLength + 1
+                + compressionLength + 4 + data.getCipherText().length;
+    }
+
+    /**
+     * 暗号化結果データをバイト列に変換します。
+     * 
+     * @param data 暗号化結果データ
+     * @return バイト列
+     * @throws IllegalArgumentException 項目の長さがこの形式で記録できる長さを超える場合
+     * @since 1.10
+     */
+    public static byte[] toByteArray(EncryptionOutputData data) throws IllegalArgumentException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(sizeOf(data));
+        try {
+            write(new DataOutputStream(bos), data);
+        } catch (IOException e) {
+            // ByteArrayOutputStreamへの書き込みでは発生しない
+            throw new IllegalStateException(e);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * バイト列を暗号化結果データに変換します。
+     * 
+     * @param bytes バイト列
+     * @return 暗号化結果データ
+     * @throws IOException データの形式が不正な場合
+     * @since 1.10
+     */
+    public static EncryptionOutputData fromByteArray(byte[] bytes) throws IOException {
+        EncryptionOutputData data = read(new DataInputStream(new ByteArrayInputStream(bytes)));
+        if (data == null) {
+            throw new IOException("empty record.");
+        }
+        return data;
+    }
+
+    /**
+     * 書き込む項目の長さが、この形式で記録できる長さ以下であることを確認します。
+     * 
+     * @param name 項目の名前
+     * @param length 長さ
+     * @param maxLength 記録できる最大の長さ
+     * @throws IllegalArgumentException 長さが最大の長さを超える場合
+     */
+    private static void checkLength(String name, int length, int maxLength) throws IllegalArgumentException {
+        if (length > maxLength) {
+            throw new IllegalArgumentException(name + " length " + length + " exceeds the limit of " + maxLength
+                    + " bytes.");
+        }
+    }
+
+    /**
+     * 指定された長さのバイト列を読み込みます。
+     * 
+     * @param in 入力元
+     * @param length 長さ
+     * @return バイト列
+     * @throws IOException 読み込みで例外がスローされた場合
+     */
+    private static byte[] readBytes(DataInputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,442 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.ibm.fincrypto.sample.audit.AuditLog;
+import com.ibm.fincrypto.sample.jfr.KeyUnwrapEvent;
+import com.ibm.fincrypto.sample.jfr.SymmetricCipherEvent;
+import com.ibm.fincrypto.sample.key.KeyFingerprint;
+import com.ibm.fincrypto.sample.key.KeyRing;
+import com.ibm.fincrypto.sample.key.KeyStoreKeyInfo;
+import com.ibm.fincrypto.sample.key.PKCS11UnwrapPool;
+
+/**
+ * {@link RSAEncryptor}で暗号化されたデータを復号するクラスです。RSA秘密鍵で暗号化されたAES鍵を復号し、
+ * そのAES鍵で暗号化データを復号します。
+ * <p>
+ * 大量のデータを復号するため、以下の最適化を行います。
+ * <ul>
+ * <li>RSA秘密鍵はインスタンスの生成時に一度だけ取得して保持します。{@link KeyRing}を使用する場合は、
+ * 暗号化結果データの鍵IDから秘密鍵を直接選択するため、保持する鍵の数によらず選択のコストは一定です。
+ * <li><code>Cipher</code>はスレッドごとに生成して再利用します。RSAの<code>Cipher</code>は初期化済みの状態で保持します。
+ * 秘密鍵がPKCS#11トークン上にある場合は、{@link PKCS11UnwrapPool}の<code>Cipher</code>を複数のスレッドで共有し、
+ * 同時に実行するRSA復号の数をトークンの並列度に合わせます。
+ * <li>復号したAES鍵は、鍵IDと暗号化されたAES鍵のバイト列をキーとしてLRUキャッシュに保持し、同じAES鍵で暗号化されたデータでは
+ * RSA復号を省略します。{@link KeyRing}から鍵が削除もしくは置き換えられた場合は、その鍵IDのエントリをキャッシュから破棄します。
+ * <li>{@link #decryptAll(Collection)}および{@link #decryptAll(Stream)}は複数のデータを複数のCPUコアで並列に復号します。
+ * </ul>
+ * このクラスのインスタンスは複数のスレッドから同時に使用できます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class RSADecryptor {
+
+    /**
+     * 復号したAES鍵をキャッシュする数のデフォルト値
+     */
+    public static final int DEFAULT_KEY_CACHE_SIZE = 1024;
+    /**
+     * RSA秘密鍵 (キーリングを使用する場合は<code>null</code>)
+     */
+    private final PrivateKey privateKey;
+    /**
+     * 鍵IDからRSA秘密鍵を選択するキーリング (単一の秘密鍵を使用する場合は<code>null</code>)
+     */
+    private final KeyRing keyRing;
+    /**
+     * PKCS#11トークン上のRSA秘密鍵で復号するプール (トークンを使用しない場合は<code>null</code>)
+     */
+    private final PKCS11UnwrapPool unwrapPool;
+    /**
+     * 鍵IDと暗号化されたAES鍵から復号したAES鍵へのLRUキャッシュ
+     */
+    private final Map<SessionKeyId, SecretKey> sessionKeys;
+    /**
+     * スレッドごとの秘密鍵ごとのRSA復号用<code>Cipher</code> (秘密鍵で初期化済み)
+     */
+    private final ThreadLocal<Map<PrivateKey, Cipher>> rsaCiphers = new ThreadLocal<>();
+    /**
+     * スレッドごとのAES復号用<code>Cipher</code>
+     */
+    private final ThreadLocal<Cipher> aesCiphers = new ThreadLocal<>();
+
+    /**
+     * コンストラクタ。RSA秘密鍵を引数に渡して呼び出します。
+     * 
+     * @param privateKey RSA秘密鍵
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public RSADecryptor(PrivateKey privateKey) throws IllegalArgumentException {
+        this(privateKey, DEFAULT_KEY_CACHE_SIZE);
+    }
+
+    /**
+     * コンストラクタ。RSA秘密鍵と復号したAES鍵をキャッシュする数を引数に渡して呼び出します。
+     * 
+     * @param privateKey RSA秘密鍵
+     * @param keyCacheSize 復号したAES鍵をキャッシュする数 (0の場合はキャッシュしない)
+     * @throws IllegalArgumentException 秘密鍵に<code>null</code>が指定された場合、もしくはキャッシュする数が負の場合
+     * @since 1.10
+     */
+    public RSADecryptor(PrivateKey privateKey, int keyCacheSize) throws IllegalArgumentException {
+        this(privateKey, null, null, keyCacheSize);
+        if (privateKey == null) {
+            throw new IllegalArgumentException("privateKey must be not null.");
+        }
+    }
+
+    /**
+     * コンストラクタ。キーリングを引数に渡して呼び出します。暗号化結果データの鍵IDに対応する秘密鍵で復号します。
+     * 
+     * @param keyRing キーリング
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public RSADecryptor(KeyRing keyRing) throws IllegalArgumentException {
+        this(keyRing, DEFAULT_KEY_CACHE_SIZE);
+    }
+
+    /**
+     * コンストラクタ。キーリングと復号したAES鍵をキャッシュする数を引数に渡して呼び出します。
+     * 
+     * @param keyRing キーリング
+     * @param keyCacheSize 復号したAES鍵をキャッシュする数 (0の場合はキャッシュしない)
+     * @throws IllegalArgumentException キーリングに<code>null</code>が指定された場合、もしくはキャッシュする数が負の場合
+     * @since 1.10
+     */
+    public RSADecryptor(KeyRing keyRing, int keyCacheSize) throws IllegalArgumentException {
+        this(null, keyRing, null, keyCacheSize);
+        if (keyRing == null) {
+            throw new IllegalArgumentException("keyRing must be not null.");
+        }
+    }
+
+    /**
+     * コンストラクタ。PKCS#11トークン上のRSA秘密鍵で復号するプールを引数に渡して呼び出します。
+     * 
+     * @param unwrapPool PKCS#11トークン上のRSA秘密鍵で復号するプール
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public RSADecryptor(PKCS11UnwrapPool unwrapPool) throws IllegalArgumentException {
+        this(unwrapPool, DEFAULT_KEY_CACHE_SIZE);
+    }
+
+    /**
+     * コンストラクタ。PKCS#11トークン上のRSA秘密鍵で復号するプールと復号したAES鍵をキャッシュする数を引数に渡して呼び出します。
+     * 
+     * @param unwrapPool PKCS#11トークン上のRSA秘密鍵で復号するプール
+     * @param keyCacheSize 復号したAES鍵をキャッシュする数 (0の場合はキャッシュしない)
+     * @throws IllegalArgumentException プールに<code>null</code>が指定された場合、もしくはキャッシュする数が負の場合
+     * @since 1.10
+     */
+    public RSADecryptor(PKCS11UnwrapPool unwrapPool, int keyCacheSize) throws IllegalArgumentException {
+        this(null, null, unwrapPool, keyCacheSize);
+        if (unwrapPool == null) {
+            throw new IllegalArgumentException("unwrapPool must be not null.");
+        }
+    }
+
+    /**
+     * 各コンストラクタから呼び出される共通のコンストラクタ。
+     * 
+     * @param privateKey RSA秘密鍵
+     * @param keyRing キーリング
+     * @param unwrapPool PKCS#11トークン上のRSA秘密鍵で復号するプール
+     * @param keyCacheSize 復号したAES鍵をキャッシュする数
+     * @throws IllegalArgumentException キャッシュする数が負の場合
+     */
+    private RSADecryptor(PrivateKey privateKey, KeyRing keyRing, PKCS11UnwrapPool unwrapPool,
+            final int keyCacheSize) throws IllegalArgumentException {
+        if (keyCacheSize < 0) {
+            throw new IllegalArgumentException("keyCacheSize must be zero or positive.");
+        }
+        this.privateKey = privateKey;
+        this.keyRing = keyRing;
+        this.unwrapPool = unwrapPool;
+        final Map<SessionKeyId, SecretKey> cache = Collections
+                .synchronizedMap(new LinkedHashMap<SessionKeyId, SecretKey>(16, 0.75f, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<SessionKeyId, SecretKey> eldest) {
+                        return size() > keyCacheSize;
+                    }
+                });
+        this.sessionKeys = cache;
+        if (keyRing != null) {
+            keyRing.addListener(keyId -> {
+                synchronized (cache) {
+                    cache.keySet().removeIf(id -> Arrays.equals(id.keyId, keyId));
+                }
+            });
+        }
+    }
+
+    /**
+     * コンストラクタ。キーストアに格納されたRSA秘密鍵を使用します。秘密鍵はこのコンストラクタで一度だけ読み込まれます。
+     * 
+     * @param keyInfo キーストアのRSA鍵情報
+     * @param keyPassword 秘密鍵を保護するパスワード
+     * @throws GeneralSecurityException キーストアの処理もしくは秘密鍵の処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public RSADecryptor(KeyStoreKeyInfo keyInfo, String keyPassword) throws GeneralSecurityException {
+        this(keyInfo.getPrivateKey(keyPassword));
+    }
+
+    /**
+     * 暗号化結果データを復号します。暗号化の前に圧縮されていた場合は伸長したデータを返します。
+     * 
+     * @param outData 暗号化結果データ
+     * @return 復号されたバイト列
+     * @throws GeneralSecurityException 復号処理もしくは伸長処理で例外がスローされた場合
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public byte[] decrypt(EncryptionOutputData outData) throws GeneralSecurityException, IllegalArgumentException {
+        if (outData == null) {
+            throw new IllegalArgumentException("outData must be not null.");
+        }
+        // 暗号化されたAES鍵を復号する
+        SecretKey aesKey = unwrapSessionKey(outData.getKeyId(), outData.getEncryptedKey());
+        // AES鍵を使用して暗号化データを復号する
+        SymmetricCipherEvent cipherEvent = new SymmetricCipherEvent();
+        cipherEvent.begin();
+        Cipher cipher = aesCipher();
+        cipher.init(Cipher.DECRYPT_MODE, aesKey, new IvParameterSpec(outData.getInitialVector()));
+        byte[] plainBin = cipher.doFinal(outData.getCipherText());
+        // 暗号化の前に圧縮されていた場合は伸長する
+        if (outData.getCompression() != null) {
+            try {
+                plainBin = CompressionCodecs.decompress(outData.getCompression(), plainBin);
+            } catch (IOException e) {
+                throw new GeneralSecurityException("cannot decompress the decrypted data.", e);
+            }
+        }
+        cipherEvent.end();
+        if (cipherEvent.shouldCommit()) {
+            cipherEvent.setOperation("decrypt");
+            cipherEvent.setAlgorithm("AES/CBC/PKCS5Padding");
+            cipherEvent.setCompression(outData.getCompression());
+            cipherEvent.setInputBytes(outData.getCipherText().length);
+            cipherEvent.setOutputBytes(plainBin.length);
+            cipherEvent.commit();
+        }
+        // 監査ログが登録されている場合は操作を記録する
+        AuditLog auditLog = AuditLog.current();
+        if (auditLog != null) {
+            auditLog.record(AuditLog.DECRYPT, outData.getKeyId(), plainBin.length);
+        }
+        return plainBin;
+    }
+
+    /**
+     * 暗号化結果データを復号し、UTF-8の文字列として返します。{@link RSAEncryptor#encryptData(String, byte[])}に対応します。
+     * 
+     * @param outData 暗号化結果データ
+     * @return 復号された文字列
+     * @throws GeneralSecurityException 復号処理もしくは伸長処理で例外がスローされた場合
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public String decryptData(EncryptionOutputData outData) throws GeneralSecurityException, IllegalArgumentException {
+        return new String(decrypt(outData), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 複数の暗号化結果データを並列に復号します。結果は引数の順序で返します。
+     * 
+     * @param outDataList 暗号化結果データのコレクション
+     * @return 復号されたバイト列のリスト
+     * @throws GeneralSecurityException いずれかのデータの復号処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public List<byte[]> decryptAll(Collection<EncryptionOutputData> outDataList) throws GeneralSecurityException {
+        try {
+            return decryptAll(outDataList.parallelStream()).collect(Collectors.toList());
+        } catch (UncheckedSecurityException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 暗号化結果データのストリームを復号するストリームを返します。並列ストリームを渡した場合は複数のCPUコアで並列に復号されます。
+     * 復号処理で例外がスローされた場合は、ストリームの終端操作で{@link UncheckedSecurityException}がスローされます。
+     * 
+     * @param outDataStream 暗号化結果データのストリーム
+     * @return 復号されたバイト列のストリーム
+     * @since 1.10
+     */
+    public Stream<byte[]> decryptAll(Stream<EncryptionOutputData> outDataStream) {
+        return outDataStream.map(outData -> {
+            try {
+                return decrypt(outData);
+            } catch (GeneralSecurityException e) {
+                throw new UncheckedSecurityException(e);
+            }
+        });
+    }
+
+    /**
+     * RSA秘密鍵を使用して暗号化されたAES鍵を復号します。復号済みのAES鍵はキャッシュから返します。
+     * 
+     * @param keyId AES鍵の暗号化に使用したRSA公開鍵の鍵ID
+     * @param encryptedKey 暗号化されたAES鍵
+     * @return 復号されたAES鍵
+     * @throws GeneralSecurityException 復号処理で例外がスローされた場合、もしくは鍵IDに対応する秘密鍵がない場合
+     */
+    private SecretKey unwrapSessionKey(byte[] keyId, byte[] encryptedKey) throws GeneralSecurityException {
+        SecretKey aesKey = sessionKeys.get(new SessionKeyId(keyId, encryptedKey));
+        if (aesKey == null) {
+            KeyUnwrapEvent event = new KeyUnwrapEvent();
+            event.begin();
+            PrivateKey key = unwrapPool != null ? null : resolvePrivateKey(keyId);
+            byte[] rawKey = unwrapPool != null ? unwrapPool.unwrap(encryptedKey) : rsaCipher(key).doFinal(encryptedKey);
+            aesKey = new SecretKeySpec(rawKey, "AES");
+            event.end();
+            if (event.shouldCommit()) {
+                event.setAlgorithm("RSA/ECB/PKCS1Padding");
+                event.setKeyId(keyId == null ? null : KeyFingerprint.toHexString(keyId));
+                event.setWrappedLength(encryptedKey.length);
+                event.commit();
+            }
+            // 呼び出し元による配列の変更がキャッシュに影響しないように複製をキーとする
+            SessionKeyId cacheKey = new SessionKeyId(keyId == null ? null : keyId.clone(), encryptedKey.clone());
+            sessionKeys.put(cacheKey, aesKey);
+            // 復号中にキーリングの鍵が削除もしくは置き換えられた場合は、通知の後に追加したエントリを取り除く
+            if (keyRing != null && keyRing.getPrivateKey(keyId) != key) {
+                sessionKeys.remove(cacheKey);
+            }
+        }
+        return aesKey;
+    }
+
+    /**
+     * 鍵IDに対応するRSA秘密鍵を返します。単一の秘密鍵を使用する場合は鍵IDによらずその秘密鍵を返します。
+     * 
+     * @param keyId 鍵ID
+     * @return RSA秘密鍵
+     * @throws GeneralSecurityException 鍵IDが記録されていない場合、もしくは鍵IDに対応する秘密鍵がキーリングにない場合
+     */
+    private PrivateKey resolvePrivateKey(byte[] keyId) throws GeneralSecurityException {
+        if (keyRing == null) {
+            return privateKey;
+        }
+        if (keyId == null) {
+            throw new GeneralSecurityException("the encrypted data has no key id.");
+        }
+        PrivateKey key = keyRing.getPrivateKey(keyId);
+        if (key == null) {
+            throw new GeneralSecurityException("no private key for key id " + KeyFingerprint.toHexString(keyId));
+        }
+        return key;
+    }
+
+    /**
+     * 現在のスレッドの、指定された秘密鍵で初期化済みのRSA復号用<code>Cipher</code>を返します。
+     * 
+     * @param key RSA秘密鍵
+     * @return 秘密鍵で初期化済みの<code>Cipher</code>
+     * @throws GeneralSecurityException <code>Cipher</code>の生成もしくは初期化で例外がスローされた場合
+     */
+    private Cipher rsaCipher(PrivateKey key) throws GeneralSecurityException {
+        Map<PrivateKey, Cipher> ciphers = rsaCiphers.get();
+        if (ciphers == null) {
+            ciphers = new IdentityHashMap<>();
+            rsaCiphers.set(ciphers);
+        }
+        Cipher cipher = ciphers.get(key);
+        if (cipher == null) {
+            cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding");
+            cipher.init(Cipher.DECRYPT_MODE, key);
+            ciphers.put(key, cipher);
+        }
+        return cipher;
+    }
+
+    /**
+     * 現在のスレッドのAES復号用<code>Cipher</code>を返します。
+     * 
+     * @return <code>Cipher</code>
+     * @throws GeneralSecurityException <code>Cipher</code>の生成で例外がスローされた場合
+     */
+    private Cipher aesCipher() throws GeneralSecurityException {
+        Cipher cipher = aesCiphers.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+            aesCiphers.set(cipher);
+        }
+        return cipher;
+    }
+
+    /**
+     * 復号したAES鍵のキャッシュのキー。鍵IDと暗号化されたAES鍵のバイト列の組です。
+     */
+    private static final class SessionKeyId {
+        /**
+         * 鍵ID (記録されていない場合は<code>null</code>)
+         */
+        final byte[] keyId;
+        /**
+         * 暗号化されたAES鍵
+         */
+        final byte[] encryptedKey;
+
+        /**
+         * コンストラクタ。
+         * 
+         * @param keyId 鍵ID
+         * @param encryptedKey 暗号化されたAES鍵
+         */
+        SessionKeyId(byte[] keyId, byte[] encryptedKey) {
+            this.keyId = keyId;
+            this.encryptedKey = encryptedKey;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof SessionKeyId)) {
+                return false;
+            }
+            SessionKeyId other = (SessionKeyId) obj;
+            return Arrays.equals(keyId, other.keyId) && Arrays.equals(encryptedKey, other.encryptedKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(keyId) + Arrays.hashCode(encryptedKey);
+        }
+    }
+}
@@ -12,16 +12,25 @@
 // possibility of such damages.
 package com.ibm.fincrypto.sample;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.GeneralSecurityException;
 import java.security.MessageDigest;
 import java.util.Arrays;
 
 import javax.crypto.Cipher;
+import javax.crypto.CipherOutputStream;
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.IvParameterSpec;
 
+import com.ibm.fincrypto.sample.audit.AuditLog;
+import com.ibm.fincrypto.sample.jfr.KeyWrapEvent;
+import com.ibm.fincrypto.sample.jfr.SessionKeyGenerationEvent;
+import com.ibm.fincrypto.sample.jfr.SymmetricCipherEvent;
+import com.ibm.fincrypto.sample.key.KeyFingerprint;
 import com.ibm.fincrypto.sample.key.KeyInfo;
 
 /**
@@ -29,6 +38,9 @@ import com.ibm.fincrypto.sample.key.KeyInfo;
  * <code>AES_KEY_LENGTH</code> に定義します。
  * AESの鍵長は、アメリカ合衆国の輸出規制に従い、デフォルトでバンドルされているJavaでは使用できる暗号化鍵のサイズに制限があります。128bitより大きい鍵長を指定する場合、バンドルされている暗号化ポリシー・ファイルを
  * Java提供元が発行する無制限JCEポリシー・ ファイルで置き換える必要があります。
+ * <p>
+ * AES鍵は最初の暗号化で一度だけ生成され、複数のスレッドから同時に{@link #encryptData(String, byte[])}を呼び出すことができます。
+ * 不要になったインスタンスは{@link #destroy()}でAES鍵を破棄できます。
  * 
  * @version 1.00, 2017/08/31
  * @since 1.00
@@ -38,19 +50,39 @@ public class RSAEncryptor {
     /**
      * AESの鍵長
      */
-    private static final int AES_KEY_LENGTH = 128;
+    static final int AES_KEY_LENGTH = 128;
     /**
      * AESのブロック長
      */
-    private static final int BLOCK_LENGTH_AES = 16;
+    static final int BLOCK_LENGTH_AES = 16;
     /**
      * RSA公開鍵
      */
     private final KeyInfo keyInfo;
     /**
-     * AES暗号化鍵
+     * AES暗号化鍵 (生成と破棄は<code>this</code>で同期し、RSA公開鍵で暗号化されたAES鍵と鍵IDを設定した後に設定する)
      */
-    private SecretKey aesKey = null;
+    private volatile SecretKey aesKey = null;
+    /**
+     * RSA公開鍵で暗号化されたAES暗号化鍵
+     */
+    private byte[] encryptedKey = null;
+    /**
+     * RSA公開鍵の鍵ID (フィンガープリント)
+     */
+    private byte[] keyId = null;
+    /**
+     * 暗号化の前に平文を圧縮する圧縮方式 (<code>null</code>の場合は圧縮しない)
+     */
+    private CompressionCodec compressionCodec = null;
+    /**
+     * 圧縮を行う平文の最小のバイト数
+     */
+    private int compressionThreshold = 0;
+    /**
+     * AES鍵が破棄された場合は<code>true</code>
+     */
+    private volatile boolean destroyed = false;
 
     /**
      * コンストラクタ。RSA公開鍵情報を引数に渡して呼び出します。
@@ -66,6 +98,19 @@ public class RSAEncryptor {
         this.keyInfo = keyInfo;
     }
 
+    /**
+     * 暗号化の前に平文を圧縮する圧縮方式を設定します。UTF-8でエンコードした平文のバイト数が閾値に満たない場合は圧縮しません。
+     * 圧縮した場合は暗号化結果データに圧縮方式の名前が記録され、復号側で自動的に伸長されます。
+     * 
+     * @param codec 圧縮方式 (<code>null</code>の場合は圧縮しない)
+     * @param threshold 圧縮を行う平文の最小のバイト数
+     * @since 1.10
+     */
+    public void setCompression(CompressionCodec codec, int threshold) {
+        this.compressionCodec = codec;
+        this.compressionThreshold = threshold;
+    }
+
     /**
      * AES暗号化を実行します。
      * 
@@ -74,31 +119,78 @@ public class RSAEncryptor {
      * @return AES暗号化結果データ
      * @throws GeneralSecurityException AES暗号化、RSA暗号化、もしくはハッシュ値計算で例外がスローされた場合
      * @throws IllegalArgumentException 平文に<code>null</code>もしくは長さ0の文字列が指定された場合
+     * @throws IllegalStateException AES鍵が破棄されている場合
      * @since 1.00
      */
     public EncryptionOutputData encryptData(String plainText, byte[] initVct)
-            throws GeneralSecurityException, IllegalArgumentException {
+            throws GeneralSecurityException, IllegalArgumentException, IllegalStateException {
         if (plainText == null || plainText.length() == 0) {
             throw new IllegalArgumentException("plainText must have one and more length.");
         }
-        if (aesKey == null) {
-            // AES鍵が未生成の場合は生成します
-            aesKey = generateAESSessionKey();
-        }
+        SecretKey key = sessionKey();
         byte[] plainBin = plainText.getBytes(StandardCharsets.UTF_8);
         EncryptionOutputData outData = new EncryptionOutputData();
         // 初期化ベクトルを結果データに設定
         outData.setInitialVector(getInitialVector(plainBin, initVct));
 
-        // RSA公開鍵により、AES暗号化キーを暗号化して結果データに設定
-        outData.setEncryptedKey(encryptWithRSA(aesKey.getEncoded()));
+        // RSA公開鍵により暗号化されたAES暗号化キーを結果データに設定
+        outData.setEncryptedKey(encryptedKey.clone());
+        outData.setKeyId(keyId.clone());
 
         // AES暗号化を実施して結果データに設定
-        outData.setCipherText(encryptWithAES(plainBin, new IvParameterSpec(outData.getInitialVector())));
+        IvParameterSpec iv = new IvParameterSpec(outData.getInitialVector());
+        SymmetricCipherEvent cipherEvent = new SymmetricCipherEvent();
+        cipherEvent.begin();
+        if (compressionCodec != null && plainBin.length >= compressionThreshold) {
+            outData.setCompression(compressionCodec.getName());
+            outData.setCipherText(compressAndEncryptWithAES(key, plainBin, iv));
+        } else {
+            outData.setCipherText(encryptWithAES(key, plainBin, iv));
+        }
+        cipherEvent.end();
+        if (cipherEvent.shouldCommit()) {
+            cipherEvent.setOperation("encrypt");
+            cipherEvent.setAlgorithm("AES/CBC/PKCS5Padding");
+            cipherEvent.setCompression(outData.getCompression());
+            cipherEvent.setInputBytes(plainBin.length);
+            cipherEvent.setOutputBytes(outData.getCipherText().length);
+            cipherEvent.commit();
+        }
 
+        // 監査ログが登録されている場合は操作を記録する
+        AuditLog auditLog = AuditLog.current();
+        if (auditLog != null) {
+            auditLog.record(AuditLog.ENCRYPT, keyId, plainBin.length);
+        }
         return outData;
     }
 
+    /**
+     * AES鍵を返します。AES鍵が未生成の場合は生成し、RSA公開鍵による暗号化も一度だけ行います。
+     * 
+     * @return AES鍵
+     * @throws GeneralSecurityException AES鍵の生成もしくはRSA暗号化で例外がスローされた場合
+     * @throws IllegalStateException AES鍵が破棄されている場合
+     */
+    private SecretKey sessionKey() throws GeneralSecurityException, IllegalStateException {
+        SecretKey key = aesKey;
+        if (key == null) {
+            synchronized (this) {
+                if (destroyed) {
+                    throw new IllegalStateException("the encryptor has been destroyed.");
+                }
+                key = aesKey;
+                if (key == null) {
+                    key = generateAESSessionKey();
+                    keyId = KeyFingerprint.of(keyInfo);
+                    encryptedKey = encryptWithRSA(key.getEncoded());
+                    aesKey = key;
+                }
+            }
+        }
+        return key;
+    }
+
     /**
      * AES暗号化用の暗号化鍵を生成します。
      * 
@@ -106,9 +198,18 @@ public class RSAEncryptor {
      * @throws GeneralSecurityException 鍵の生成処理で例外がスローされた場合
      */
     private SecretKey generateAESSessionKey() throws GeneralSecurityException {
+        SessionKeyGenerationEvent event = new SessionKeyGenerationEvent();
+        event.begin();
         KeyGenerator generator = KeyGenerator.getInstance("AES");
         generator.init(AES_KEY_LENGTH);
-        return generator.generateKey();
+        SecretKey key = new SessionKey(generator.generateKey().getEncoded());
+        event.end();
+        if (event.shouldCommit()) {
+            event.setAlgorithm("AES");
+            event.setKeyLength(AES_KEY_LENGTH);
+            event.commit();
+        }
+        return key;
     }
 
     /**
@@ -138,27 +239,61 @@ public class RSAEncryptor {
      * @since 1.00
      */
     private byte[] encryptWithRSA(byte[] data) throws GeneralSecurityException {
+        KeyWrapEvent event = new KeyWrapEvent();
+        event.begin();
         Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding");
         cipher.init(Cipher.ENCRYPT_MODE, keyInfo.getPublicKey());
-        return cipher.doFinal(data);
+        byte[] wrapped = cipher.doFinal(data);
+        event.end();
+        if (event.shouldCommit()) {
+            event.setAlgorithm("RSA/ECB/PKCS1Padding");
+            event.setKeyId(KeyFingerprint.toHexString(keyId));
+            event.setWrappedLength(wrapped.length);
+            event.commit();
+        }
+        return wrapped;
     }
 
     /**
      * 引数のデータをAES暗号化鍵で暗号化します。
      * 
+     * @param key AES暗号化鍵
      * @param data 暗号化対象のデータ
      * @param iv 初期化ベクトル
      * @return 暗号化されたデータ
      * @throws GeneralSecurityException 暗号化の処理で例外がスローされた場合
      * @since 1.00
      */
-    private byte[] encryptWithAES(byte[] data, IvParameterSpec iv) throws GeneralSecurityException {
+    private byte[] encryptWithAES(SecretKey key, byte[] data, IvParameterSpec iv) throws GeneralSecurityException {
         Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-        cipher.init(Cipher.ENCRYPT_MODE, aesKey, iv);
+        cipher.init(Cipher.ENCRYPT_MODE, key, iv);
         // AES暗号化実施
         return cipher.doFinal(data);
     }
 
+    /**
+     * 引数のデータを圧縮しながらAES暗号化鍵で暗号化します。圧縮結果はバッファリングせずに暗号化ストリームへ書き込みます。
+     * 
+     * @param key AES暗号化鍵
+     * @param data 暗号化対象のデータ
+     * @param iv 初期化ベクトル
+     * @return 圧縮後に暗号化されたデータ
+     * @throws GeneralSecurityException 暗号化もしくは圧縮の処理で例外がスローされた場合
+     * @since 1.10
+     */
+    private byte[] compressAndEncryptWithAES(SecretKey key, byte[] data, IvParameterSpec iv)
+            throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, key, iv);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(data.length / 2 + BLOCK_LENGTH_AES);
+        try (OutputStream os = compressionCodec.compress(new CipherOutputStream(bos, cipher))) {
+            os.write(data);
+        } catch (IOException e) {
+            throw new GeneralSecurityException("cannot compress the plain text.", e);
+        }
+        return bos.toByteArray();
+    }
+
     /**
      * AES暗号化鍵を取得します。
      * 
@@ -169,4 +304,30 @@ public class RSAEncryptor {
         return aesKey;
     }
 
+    /**
+     * AES鍵を0で上書きして破棄します。破棄した後に{@link #encryptData(String, byte[])}を呼び出すと
+     * <code>IllegalStateException</code>がスローされます。暗号化の途中で破棄された場合、
+     * 暗号の初期化を終えている暗号化はそのまま完了し、初期化前の暗号化は例外で失敗します。
+     * 
+     * @since 1.10
+     */
+    public synchronized void destroy() {
+        destroyed = true;
+        SecretKey key = aesKey;
+        aesKey = null;
+        if (key != null) {
+            ((SessionKey) key).destroy();
+        }
+    }
+
+    /**
+     * AES鍵が破棄されているかどうかを返します。
+     * 
+     * @return 破棄されている場合は<code>true</code>
+     * @since 1.10
+     */
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
 }
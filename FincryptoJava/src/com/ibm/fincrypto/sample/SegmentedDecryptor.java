@@ -0,0 +1,219 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * {@link SegmentedEncryptor}で暗号化されたファイルを復号するクラスです。任意の位置から必要な範囲のセグメントのみを
+ * 復号して読み込むことができ、ファイル全体の復号は複数のスレッドで並列に実行されます。
+ * 各セグメントの認証タグを検証するため、改ざんされたセグメントを読み込んだ場合は例外がスローされます。
+ * ファイルを開く際に最後のセグメントを検証するため、ヘッダーの改ざんや切り詰めはファイルを開いた時点で検出されます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class SegmentedDecryptor implements Closeable {
+
+    /**
+     * 暗号化ファイルのチャネル
+     */
+    private final FileChannel channel;
+    /**
+     * ヘッダー
+     */
+    private final SegmentedHeader header;
+    /**
+     * AES鍵
+     */
+    private final SecretKey aesKey;
+
+    /**
+     * コンストラクタ。暗号化ファイルを開き、ヘッダーのAES鍵をRSA秘密鍵で復号して、最後のセグメントを検証します。
+     * 
+     * @param file 暗号化ファイル
+     * @param privateKey RSA秘密鍵
+     * @throws IOException ファイルの入力で例外がスローされた場合、ヘッダーが不正な場合、
+     *         もしくはファイルの長さがヘッダーと一致しない場合
+     * @throws GeneralSecurityException AES鍵の復号もしくは最後のセグメントの検証で例外がスローされた場合
+     * @since 1.10
+     */
+    public SegmentedDecryptor(Path file, PrivateKey privateKey) throws IOException, GeneralSecurityException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.header = SegmentedHeader.read(channel);
+            header.checkSegmentCount();
+            if (channel.size() != header.fileLength()) {
+                throw new IOException("segmented encryption file size does not match the header: " + channel.size()
+                        + " != " + header.fileLength());
+            }
+            Cipher rsa = Cipher.getInstance("RSA/ECB/PKCS1Padding");
+            rsa.init(Cipher.DECRYPT_MODE, privateKey);
+            this.aesKey = new SecretKeySpec(rsa.doFinal(header.encryptedKey), "AES");
+            long last = header.segmentCount() - 1;
+            int length = header.plainSegmentLength(last);
+            decryptSegment(Cipher.getInstance("AES/GCM/NoPadding"), last,
+                    ByteBuffer.allocate(length + SegmentedHeader.TAG_LENGTH), ByteBuffer.allocate(length));
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 平文の長さを返します。
+     * 
+     * @return 平文の長さ
+     * @since 1.10
+     */
+    public long size() {
+        return header.plainLength;
+    }
+
+    /**
+     * 平文の指定された位置から復号したデータを読み込みます。読み込みに必要なセグメントのみを復号します。
+     * このメソッドは複数のスレッドから同時に呼び出すことができます。
+     * 
+     * @param position 平文の読み込み開始位置
+     * @param buf 復号したデータを格納するバッファ
+     * @param off バッファの格納開始位置
+     * @param len 読み込む最大の長さ
+     * @return 読み込んだ長さ。開始位置が平文の終端以降の場合は-1
+     * @throws IOException ファイルの入力で例外がスローされた場合
+     * @throws GeneralSecurityException 復号処理もしくは認証タグの検証で例外がスローされた場合
+     * @throws IndexOutOfBoundsException 開始位置が負の場合、もしくはバッファの範囲外が指定された場合
+     * @since 1.10
+     */
+    public int read(long position, byte[] buf, int off, int len) throws IOException, GeneralSecurityException {
+        if (position < 0 || off < 0 || len < 0 || len > buf.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (position >= header.plainLength) {
+            return -1;
+        }
+        int total = (int) Math.min(len, header.plainLength - position);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        ByteBuffer encrypted = ByteBuffer.allocate(header.segmentSize + SegmentedHeader.TAG_LENGTH);
+        ByteBuffer plain = ByteBuffer.allocate(header.segmentSize);
+        int done = 0;
+        while (done < total) {
+            long pos = position + done;
+            long index = pos / header.segmentSize;
+            int skip = (int) (pos - index * header.segmentSize);
+            decryptSegment(cipher, index, encrypted, plain);
+            int n = Math.min(plain.remaining() - skip, total - done);
+            plain.position(skip);
+            plain.get(buf, off + done, n);
+            done += n;
+        }
+        return total;
+    }
+
+    /**
+     * ファイル全体を復号します。利用可能なプロセッサ数のスレッドで並列に処理します。
+     * 
+     * @param output 復号結果を書き込むファイル
+     * @throws IOException ファイルの入出力で例外がスローされた場合
+     * @throws GeneralSecurityException 復号処理もしくは認証タグの検証で例外がスローされた場合
+     * @since 1.10
+     */
+    public void decryptTo(Path output) throws IOException, GeneralSecurityException {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            decryptTo(output, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 指定されたスレッド・プールを使用してファイル全体を復号します。
+     * 
+     * @param output 復号結果を書き込むファイル
+     * @param executor セグメントの復号を実行するスレッド・プール
+     * @throws IOException ファイルの入出力で例外がスローされた場合
+     * @throws GeneralSecurityException 復号処理もしくは認証タグの検証で例外がスローされた場合
+     * @since 1.10
+     */
+    public void decryptTo(Path output, ExecutorService executor) throws IOException, GeneralSecurityException {
+        try (final FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            long count = header.segmentCount();
+            for (long first = 0; first < count; first += SegmentedEncryptor.SEGMENTS_PER_TASK) {
+                final long from = first;
+                final long to = Math.min(count, first + SegmentedEncryptor.SEGMENTS_PER_TASK);
+                tasks.add(() -> {
+                    Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+                    ByteBuffer encrypted = ByteBuffer.allocate(header.segmentSize + SegmentedHeader.TAG_LENGTH);
+                    ByteBuffer plain = ByteBuffer.allocate(header.segmentSize);
+                    for (long i = from; i < to; i++) {
+                        decryptSegment(cipher, i, encrypted, plain);
+                        SegmentedHeader.writeFully(out, plain, i * header.segmentSize);
+                    }
+                    return null;
+                });
+            }
+            SegmentedEncryptor.invokeAll(executor, tasks);
+        }
+    }
+
+    /**
+     * 指定されたセグメントを読み込んで復号します。復号結果は読み込み可能な状態でバッファに格納されます。
+     * 
+     * @param cipher AES/GCMの暗号器
+     * @param index セグメント番号
+     * @param encrypted 暗号文を読み込む作業用バッファ
+     * @param plain 復号結果を格納するバッファ
+     * @throws IOException ファイルの入力で例外がスローされた場合
+     * @throws GeneralSecurityException 復号処理もしくは認証タグの検証で例外がスローされた場合
+     */
+    private void decryptSegment(Cipher cipher, long index, ByteBuffer encrypted, ByteBuffer plain)
+            throws IOException, GeneralSecurityException {
+        encrypted.clear().limit(header.plainSegmentLength(index) + SegmentedHeader.TAG_LENGTH);
+        plain.clear();
+        SegmentedHeader.readFully(channel, encrypted, header.segmentOffset(index));
+        encrypted.flip();
+        cipher.init(Cipher.DECRYPT_MODE, aesKey, header.nonce(index));
+        header.updateAAD(cipher, index);
+        cipher.doFinal(encrypted, plain);
+        plain.flip();
+    }
+
+    /**
+     * 暗号化ファイルを閉じます。
+     * 
+     * @throws IOException ファイルのクローズで例外がスローされた場合
+     * @since 1.10
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,217 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+import com.ibm.fincrypto.sample.key.KeyInfo;
+
+/**
+ * 大きなファイルを固定長のセグメントに分割して暗号化するクラスです。1つのAES鍵をRSA公開鍵で暗号化してヘッダーに格納し、
+ * 各セグメントはセグメント番号から導出したノンスを使用してAES/GCMで個別に暗号化されます。
+ * セグメントは互いに独立しているため、暗号化は複数のスレッドで並列に実行され、
+ * 復号側({@link SegmentedDecryptor})は必要な範囲のセグメントのみを復号できます。
+ * 形式の詳細は{@link SegmentedHeader}を参照してください。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class SegmentedEncryptor {
+
+    /**
+     * デフォルトのセグメント長 (64KiB)
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+    /**
+     * 1つのタスクで処理するセグメントの数
+     */
+    static final int SEGMENTS_PER_TASK = 16;
+    /**
+     * RSA公開鍵
+     */
+    private final KeyInfo keyInfo;
+    /**
+     * セグメント長
+     */
+    private final int segmentSize;
+
+    /**
+     * コンストラクタ。デフォルトのセグメント長を使用します。
+     * 
+     * @param keyInfo RSA公開鍵情報
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public SegmentedEncryptor(KeyInfo keyInfo) throws IllegalArgumentException {
+        this(keyInfo, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * コンストラクタ。RSA公開鍵情報とセグメント長を引数に渡して呼び出します。
+     * 
+     * @param keyInfo RSA公開鍵情報
+     * @param segmentSize セグメント長 (バイト)
+     * @throws IllegalArgumentException 引数に<code>null</code>もしくは正でないセグメント長が指定された場合
+     * @since 1.10
+     */
+    public SegmentedEncryptor(KeyInfo keyInfo, int segmentSize) throws IllegalArgumentException {
+        if (keyInfo == null) {
+            throw new IllegalArgumentException("keyInfo must be not null.");
+        }
+        if (segmentSize <= 0 || segmentSize > SegmentedHeader.MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("segmentSize is out of range.");
+        }
+        this.keyInfo = keyInfo;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * ファイルを暗号化します。利用可能なプロセッサ数のスレッドで並列に処理します。
+     * 
+     * @param input 平文のファイル
+     * @param output 暗号化結果を書き込むファイル
+     * @throws IOException ファイルの入出力で例外がスローされた場合、もしくは平文の長さに対してセグメント長が小さく、セグメントの数が2の32乗を超える場合
+     * @throws GeneralSecurityException 暗号化処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public void encrypt(Path input, Path output) throws IOException, GeneralSecurityException {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            encrypt(input, output, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 指定されたスレッド・プールを使用してファイルを暗号化します。
+     * 
+     * @param input 平文のファイル
+     * @param output 暗号化結果を書き込むファイル
+     * @param executor セグメントの暗号化を実行するスレッド・プール
+     * @throws IOException ファイルの入出力で例外がスローされた場合、もしくは平文の長さに対してセグメント長が小さく、セグメントの数が2の32乗を超える場合
+     * @throws GeneralSecurityException 暗号化処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public void encrypt(Path input, Path output, ExecutorService executor)
+            throws IOException, GeneralSecurityException {
+        KeyGenerator generator = KeyGenerator.getInstance("AES");
+        generator.init(RSAEncryptor.AES_KEY_LENGTH);
+        final SecretKey aesKey = generator.generateKey();
+
+        Cipher rsa = Cipher.getInstance("RSA/ECB/PKCS1Padding");
+        rsa.init(Cipher.ENCRYPT_MODE, keyInfo.getPublicKey());
+        byte[] noncePrefix = new byte[SegmentedHeader.NONCE_PREFIX_LENGTH];
+        new SecureRandom().nextBytes(noncePrefix);
+
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+            final SegmentedHeader header = new SegmentedHeader(segmentSize, in.size(), noncePrefix,
+                    rsa.doFinal(aesKey.getEncoded()));
+            // 出力先を切り詰める前に、ノンスが再利用されるセグメントの数でないことを確認する
+            header.checkSegmentCount();
+            try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                SegmentedHeader.writeFully(out, ByteBuffer.wrap(header.encoded), 0);
+
+                List<Callable<Void>> tasks = new ArrayList<>();
+                long count = header.segmentCount();
+                for (long first = 0; first < count; first += SEGMENTS_PER_TASK) {
+                    final long from = first;
+                    final long to = Math.min(count, first + SEGMENTS_PER_TASK);
+                    tasks.add(() -> {
+                        encryptSegments(header, aesKey, in, out, from, to);
+                        return null;
+                    });
+                }
+                invokeAll(executor, tasks);
+            }
+        }
+    }
+
+    /**
+     * 指定された範囲のセグメントを暗号化して書き込みます。
+     * 
+     * @param header ヘッダー
+     * @param aesKey AES鍵
+     * @param in 平文のファイルのチャネル
+     * @param out 暗号化ファイルのチャネル
+     * @param from 最初のセグメント番号
+     * @param to 最後のセグメント番号 + 1
+     * @throws IOException ファイルの入出力で例外がスローされた場合
+     * @throws GeneralSecurityException 暗号化処理で例外がスローされた場合
+     */
+    private static void encryptSegments(SegmentedHeader header, SecretKey aesKey, FileChannel in, FileChannel out,
+            long from, long to) throws IOException, GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        ByteBuffer plain = ByteBuffer.allocate(header.segmentSize);
+        ByteBuffer encrypted = ByteBuffer.allocate(header.segmentSize + SegmentedHeader.TAG_LENGTH);
+        for (long i = from; i < to; i++) {
+            plain.clear().limit(header.plainSegmentLength(i));
+            encrypted.clear();
+            SegmentedHeader.readFully(in, plain, i * header.segmentSize);
+            plain.flip();
+            cipher.init(Cipher.ENCRYPT_MODE, aesKey, header.nonce(i));
+            header.updateAAD(cipher, i);
+            cipher.doFinal(plain, encrypted);
+            encrypted.flip();
+            SegmentedHeader.writeFully(out, encrypted, header.segmentOffset(i));
+        }
+    }
+
+    /**
+     * タスクをすべて実行し、いずれかのタスクでスローされた例外を呼び出し元に伝播します。
+     * 
+     * @param executor スレッド・プール
+     * @param tasks タスク
+     * @throws IOException タスクで入出力の例外がスローされた場合
+     * @throws GeneralSecurityException タスクで暗号処理の例外がスローされた場合
+     */
+    static void invokeAll(ExecutorService executor, List<Callable<Void>> tasks)
+            throws IOException, GeneralSecurityException {
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while processing segments.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("failed to process segments.", cause);
+        }
+    }
+}
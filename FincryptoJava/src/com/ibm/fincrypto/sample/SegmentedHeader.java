@@ -0,0 +1,263 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+
+/**
+ * セグメント形式の暗号化ファイルのヘッダーを保持するクラスです。ファイルは以下の構成になります。
+ * <ul>
+ * <li>マジック・ナンバー "FCSG" (4バイト)
+ * <li>形式のバージョン (1バイト)
+ * <li>セグメント長 (4バイト)
+ * <li>平文の長さ (8バイト)
+ * <li>ノンスのプレフィックス (8バイト)
+ * <li>RSA公開鍵で暗号化されたAES鍵の長さ (2バイト) とその値
+ * <li>セグメント (各セグメントはセグメント長の暗号文と16バイトの認証タグで構成され、最後のセグメントのみ短くなる。
+ * 平文が空の場合も、認証タグのみの空のセグメントを1つ書き込む)
+ * </ul>
+ * 各セグメントのノンスはプレフィックスとセグメント番号から導出し、ヘッダー全体と最後のセグメントかどうかを示す1バイトを
+ * 追加認証データとするため、セグメントの入れ替えや切り詰め、ヘッダーの改ざんは復号時に検出されます。
+ * ファイルの長さはヘッダーの平文の長さから決まり、一致しないファイルは読み込み時に拒否されます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+final class SegmentedHeader {
+
+    /**
+     * マジック・ナンバー
+     */
+    private static final byte[] MAGIC = { 'F', 'C', 'S', 'G' };
+    /**
+     * 形式のバージョン
+     */
+    private static final byte VERSION = 1;
+    /**
+     * 暗号化されたAES鍵を除くヘッダーの長さ
+     */
+    private static final int FIXED_LENGTH = 4 + 1 + 4 + 8 + 8 + 2;
+    /**
+     * ノンスのプレフィックスの長さ
+     */
+    static final int NONCE_PREFIX_LENGTH = 8;
+    /**
+     * GCMのノンスの長さ
+     */
+    static final int NONCE_LENGTH = 12;
+    /**
+     * GCMの認証タグの長さ
+     */
+    static final int TAG_LENGTH = 16;
+    /**
+     * セグメント長の最大値 (認証タグを含めてint型の範囲に収まる長さ)
+     */
+    static final int MAX_SEGMENT_SIZE = Integer.MAX_VALUE - TAG_LENGTH;
+    /**
+     * セグメントの数の最大値。ノンスのセグメント番号は4バイトのため、これを超えるとノンスが再利用される
+     */
+    static final long MAX_SEGMENT_COUNT = 1L << 32;
+
+    /**
+     * セグメント長
+     */
+    final int segmentSize;
+    /**
+     * 平文の長さ
+     */
+    final long plainLength;
+    /**
+     * ノンスのプレフィックス
+     */
+    final byte[] noncePrefix;
+    /**
+     * 暗号化されたAES鍵
+     */
+    final byte[] encryptedKey;
+    /**
+     * ヘッダーのバイト列 (追加認証データとして使用)
+     */
+    final byte[] encoded;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param segmentSize セグメント長
+     * @param plainLength 平文の長さ
+     * @param noncePrefix ノンスのプレフィックス
+     * @param encryptedKey 暗号化されたAES鍵
+     */
+    SegmentedHeader(int segmentSize, long plainLength, byte[] noncePrefix, byte[] encryptedKey) {
+        this.segmentSize = segmentSize;
+        this.plainLength = plainLength;
+        this.noncePrefix = noncePrefix;
+        this.encryptedKey = encryptedKey;
+        ByteBuffer buf = ByteBuffer.allocate(FIXED_LENGTH + encryptedKey.length);
+        buf.put(MAGIC).put(VERSION).putInt(segmentSize).putLong(plainLength).put(noncePrefix);
+        buf.putShort((short) encryptedKey.length).put(encryptedKey);
+        this.encoded = buf.array();
+    }
+
+    /**
+     * ファイルの先頭からヘッダーを読み込みます。
+     * 
+     * @param channel 暗号化ファイルのチャネル
+     * @return ヘッダー
+     * @throws IOException 読み込みに失敗した場合、もしくはセグメント形式のファイルではない場合
+     */
+    static SegmentedHeader read(FileChannel channel) throws IOException {
+        ByteBuffer fixed = ByteBuffer.allocate(FIXED_LENGTH);
+        readFully(channel, fixed, 0);
+        fixed.flip();
+        byte[] magic = new byte[MAGIC.length];
+        fixed.get(magic);
+        if (!Arrays.equals(magic, MAGIC) || fixed.get() != VERSION) {
+            throw new IOException("not a segmented encryption file.");
+        }
+        int segmentSize = fixed.getInt();
+        long plainLength = fixed.getLong();
+        byte[] noncePrefix = new byte[NONCE_PREFIX_LENGTH];
+        fixed.get(noncePrefix);
+        ByteBuffer key = ByteBuffer.allocate(fixed.getShort() & 0xFFFF);
+        readFully(channel, key, FIXED_LENGTH);
+        if (segmentSize <= 0 || segmentSize > MAX_SEGMENT_SIZE || plainLength < 0) {
+            throw new IOException("corrupted segmented encryption header.");
+        }
+        return new SegmentedHeader(segmentSize, plainLength, noncePrefix, key.array());
+    }
+
+    /**
+     * セグメントの数を返します。平文が空の場合も、ヘッダーを認証するための空のセグメントが1つあります。
+     * 
+     * @return セグメントの数
+     */
+    long segmentCount() {
+        if (plainLength == 0) {
+            return 1;
+        }
+        return plainLength / segmentSize + (plainLength % segmentSize == 0 ? 0 : 1);
+    }
+
+    /**
+     * ヘッダーの平文の長さから決まる暗号化ファイルの長さを返します。
+     * 
+     * @return ファイルの長さ
+     * @throws IOException ファイルの長さがlong型の範囲を超える場合
+     */
+    long fileLength() throws IOException {
+        try {
+            return Math.addExact(Math.addExact(encoded.length, plainLength),
+                    Math.multiplyExact(segmentCount(), (long) TAG_LENGTH));
+        } catch (ArithmeticException e) {
+            throw new IOException("corrupted segmented encryption header.", e);
+        }
+    }
+
+    /**
+     * セグメントの数がノンスのセグメント番号で表せる範囲に収まることを確認します。
+     * 
+     * @throws IOException セグメントの数が{@link #MAX_SEGMENT_COUNT}を超える場合
+     */
+    void checkSegmentCount() throws IOException {
+        if (segmentCount() > MAX_SEGMENT_COUNT) {
+            throw new IOException("too many segments: " + segmentCount() + " (segment size " + segmentSize
+                    + ", plain length " + plainLength + ").");
+        }
+    }
+
+    /**
+     * 指定されたセグメントの平文の長さを返します。
+     * 
+     * @param index セグメント番号
+     * @return 平文の長さ
+     */
+    int plainSegmentLength(long index) {
+        return (int) Math.min(segmentSize, plainLength - index * segmentSize);
+    }
+
+    /**
+     * 指定されたセグメントのファイル内の位置を返します。
+     * 
+     * @param index セグメント番号
+     * @return ファイルの先頭からのオフセット
+     */
+    long segmentOffset(long index) {
+        return encoded.length + index * (segmentSize + (long) TAG_LENGTH);
+    }
+
+    /**
+     * 指定されたセグメントのノンスを返します。
+     * 
+     * @param index セグメント番号
+     * @return GCMのパラメーター
+     */
+    GCMParameterSpec nonce(long index) {
+        if (index < 0 || index >= MAX_SEGMENT_COUNT) {
+            throw new IllegalArgumentException("segment index is out of range: " + index);
+        }
+        byte[] nonce = ByteBuffer.allocate(NONCE_LENGTH).put(noncePrefix).putInt((int) index).array();
+        return new GCMParameterSpec(TAG_LENGTH * 8, nonce);
+    }
+
+    /**
+     * 指定されたセグメントの追加認証データを暗号器に渡します。追加認証データはヘッダー全体と、
+     * 最後のセグメントの場合は1、それ以外は0の1バイトです。
+     * 
+     * @param cipher 初期化済みのAES/GCMの暗号器
+     * @param index セグメント番号
+     */
+    void updateAAD(Cipher cipher, long index) {
+        cipher.updateAAD(encoded);
+        cipher.updateAAD(new byte[] { (byte) (index == segmentCount() - 1 ? 1 : 0) });
+    }
+
+    /**
+     * 指定された位置からバッファが一杯になるまで読み込みます。
+     * 
+     * @param channel チャネル
+     * @param buf バッファ
+     * @param position 読み込み開始位置
+     * @throws IOException 読み込みに失敗した場合、もしくはファイルの終端に達した場合
+     */
+    static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+        long pos = position;
+        while (buf.hasRemaining()) {
+            int n = channel.read(buf, pos);
+            if (n < 0) {
+                throw new IOException("unexpected end of segmented encryption file.");
+            }
+            pos += n;
+        }
+    }
+
+    /**
+     * 指定された位置にバッファの内容をすべて書き込みます。
+     * 
+     * @param channel チャネル
+     * @param buf バッファ
+     * @param position 書き込み開始位置
+     * @throws IOException 書き込みに失敗した場合
+     */
+    static void writeFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+        long pos = position;
+        while (buf.hasRemaining()) {
+            pos += channel.write(buf, pos);
+        }
+    }
+}
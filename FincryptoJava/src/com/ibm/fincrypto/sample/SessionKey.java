@@ -0,0 +1,104 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample;
+
+import java.util.Arrays;
+
+import javax.crypto.SecretKey;
+
+/**
+ * 破棄できるAES鍵です。<code>SecretKeySpec</code>は{@link #destroy()}に対応していないため、
+ * 鍵の値を自身で保持し、破棄した時点で0で上書きします。
+ * 鍵の値の取り出しと破棄は排他的に行うので、暗号の初期化中に破棄された場合でも0の鍵で暗号化されることはありません。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+final class SessionKey implements SecretKey {
+
+    /**
+     * シリアル・バージョンID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 鍵の値
+     */
+    private final byte[] key;
+    /**
+     * 破棄された場合は<code>true</code>
+     */
+    private boolean destroyed = false;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param key 鍵の値 (このインスタンスが所有し、破棄時に0で上書きする)
+     */
+    SessionKey(byte[] key) {
+        this.key = key;
+    }
+
+    /**
+     * 鍵のアルゴリズムを返します。
+     * 
+     * @return "AES"
+     */
+    @Override
+    public String getAlgorithm() {
+        return "AES";
+    }
+
+    /**
+     * 鍵のエンコード形式を返します。
+     * 
+     * @return "RAW"
+     */
+    @Override
+    public String getFormat() {
+        return "RAW";
+    }
+
+    /**
+     * 鍵の値のコピーを返します。
+     * 
+     * @return 鍵の値
+     * @throws IllegalStateException 鍵が破棄されている場合
+     */
+    @Override
+    public synchronized byte[] getEncoded() throws IllegalStateException {
+        if (destroyed) {
+            throw new IllegalStateException("the session key has been destroyed.");
+        }
+        return key.clone();
+    }
+
+    /**
+     * 鍵の値を0で上書きして破棄します。
+     */
+    @Override
+    public synchronized void destroy() {
+        Arrays.fill(key, (byte) 0);
+        destroyed = true;
+    }
+
+    /**
+     * 鍵が破棄されているかどうかを返します。
+     * 
+     * @return 破棄されている場合は<code>true</code>
+     */
+    @Override
+    public synchronized boolean isDestroyed() {
+        return destroyed;
+    }
+}
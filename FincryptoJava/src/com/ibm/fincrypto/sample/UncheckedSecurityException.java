@@ -0,0 +1,50 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample;
+
+import java.security.GeneralSecurityException;
+
+/**
+ * <code>Stream</code>などの検査例外をスローできない処理の中で発生した<code>GeneralSecurityException</code>をラップする例外です。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class UncheckedSecurityException extends RuntimeException {
+
+    /**
+     * シリアル・バージョンUID
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param cause 原因となった例外
+     * @since 1.10
+     */
+    public UncheckedSecurityException(GeneralSecurityException cause) {
+        super(cause);
+    }
+
+    /**
+     * 原因となった例外を返します。
+     * 
+     * @return 原因となった例外
+     * @since 1.10
+     */
+    @Override
+    public synchronized GeneralSecurityException getCause() {
+        return (GeneralSecurityException) super.getCause();
+    }
+}
@@ -0,0 +1,128 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.audit;
+
+import java.time.Instant;
+
+import com.ibm.fincrypto.sample.key.KeyFingerprint;
+
+/**
+ * セグメント・ファイルから読み込んだ監査ログのエントリーです。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class AuditEntry {
+
+    /**
+     * 時刻 (エポックからのミリ秒)
+     */
+    private final long timestamp;
+    /**
+     * 操作の種類
+     */
+    private final int operation;
+    /**
+     * 鍵ID
+     */
+    private final byte[] keyId;
+    /**
+     * データのバイト数
+     */
+    private final long size;
+    /**
+     * 呼び出し元のスレッドID
+     */
+    private final long threadId;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param timestamp 時刻 (エポックからのミリ秒)
+     * @param operation 操作の種類
+     * @param keyId 鍵ID
+     * @param size データのバイト数
+     * @param threadId 呼び出し元のスレッドID
+     */
+    AuditEntry(long timestamp, int operation, byte[] keyId, long size, long threadId) {
+        this.timestamp = timestamp;
+        this.operation = operation;
+        this.keyId = keyId;
+        this.size = size;
+        this.threadId = threadId;
+    }
+
+    /**
+     * 時刻を返します。
+     * 
+     * @return 時刻 (エポックからのミリ秒)
+     * @since 1.10
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * 操作の種類を返します。
+     * 
+     * @return {@link AuditLog#ENCRYPT}もしくは{@link AuditLog#DECRYPT}
+     * @since 1.10
+     */
+    public int getOperation() {
+        return operation;
+    }
+
+    /**
+     * 鍵IDを返します。鍵IDが記録されていない場合はすべて0のバイト列です。
+     * 
+     * @return 鍵ID
+     * @since 1.10
+     */
+    public byte[] getKeyId() {
+        return keyId.clone();
+    }
+
+    /**
+     * データのバイト数を返します。
+     * 
+     * @return バイト数
+     * @since 1.10
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 呼び出し元のスレッドIDを返します。
+     * 
+     * @return スレッドID
+     * @since 1.10
+     */
+    public long getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * エントリーの文字列表現を返します。
+     * 
+     * @return 時刻、操作の種類、鍵ID、バイト数、スレッドIDをタブで区切った文字列
+     * @since 1.10
+     */
+    @Override
+    public String toString() {
+        String op = operation == AuditLog.ENCRYPT ? "ENCRYPT" : operation == AuditLog.DECRYPT ? "DECRYPT"
+                : String.valueOf(operation);
+        return Instant.ofEpochMilli(timestamp) + "\t" + op + "\t" + KeyFingerprint.toHexString(keyId) + "\t" + size
+                + "\t" + threadId;
+    }
+}
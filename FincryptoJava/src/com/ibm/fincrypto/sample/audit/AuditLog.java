@@ -0,0 +1,394 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 暗号化と復号の操作を記録する監査ログです。操作ごとに時刻、鍵ID (公開鍵のフィンガープリント)、データのバイト数、
+ * 呼び出し元のスレッドIDを固定長のエントリーとして記録します。
+ * <p>
+ * 呼び出し元のスレッドはエントリーをロックを使用しないリング・バッファに書き込むだけで、ファイルへの出力は待ちません。
+ * バックグラウンドの書き込みスレッドがリング・バッファからまとめて読み出し、メモリー・マップされたセグメント・ファイルに書き込みます。
+ * セグメント・ファイルが満杯になると、次の番号のファイルに切り替えます。
+ * リング・バッファが満杯の場合、エントリーは破棄されて破棄した数がセグメント・ファイルのヘッダーに記録されます。
+ * <p>
+ * {@link #install(AuditLog)}で登録すると、{@link com.ibm.fincrypto.sample.RSAEncryptor}と
+ * {@link com.ibm.fincrypto.sample.RSADecryptor}の操作が記録されます。
+ * 登録していない場合の暗号化と復号への影響は、volatileフィールドの読み込み1回だけです。
+ * <p>
+ * セグメント・ファイルは以下の構成です。数値はビッグエンディアンです。
+ * <ul>
+ * <li>ヘッダー (64バイト): マジック・ナンバー "FCAU"、形式のバージョン (4バイト)、エントリーのバイト数 (4バイト)、予備 (4バイト)、
+ * 作成時刻 (8バイト)、エントリーの数 (8バイト)、破棄したエントリーの累計 (8バイト)、予備
+ * <li>エントリー (64バイト): 時刻 (8バイト)、データのバイト数 (8バイト)、スレッドID (8バイト)、操作の種類 (4バイト)、予備 (4バイト)、
+ * 鍵ID (32バイト)
+ * </ul>
+ * 書き込まれた内容は1秒ごと、ファイルの切り替え時、および{@link #close()}の呼び出し時にディスクに同期します。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public final class AuditLog implements Closeable {
+
+    /**
+     * 操作の種類: 暗号化
+     */
+    public static final int ENCRYPT = 1;
+    /**
+     * 操作の種類: 復号
+     */
+    public static final int DECRYPT = 2;
+    /**
+     * リング・バッファのスロット数のデフォルト値
+     */
+    public static final int DEFAULT_BUFFER_CAPACITY = 1 << 16;
+    /**
+     * 1つのセグメント・ファイルに格納するエントリーの数のデフォルト値 (16MiB)
+     */
+    public static final int DEFAULT_SEGMENT_ENTRIES = 1 << 18;
+
+    /**
+     * セグメント・ファイルのマジック・ナンバー
+     */
+    static final int MAGIC = 0x46434155;
+    /**
+     * セグメント・ファイルの形式のバージョン
+     */
+    static final int VERSION = 1;
+    /**
+     * ヘッダーのバイト数
+     */
+    static final int HEADER_SIZE = 64;
+    /**
+     * エントリーのバイト数
+     */
+    static final int ENTRY_SIZE = 64;
+    /**
+     * ヘッダー内のエントリーの数の位置
+     */
+    static final int ENTRY_COUNT_OFFSET = 24;
+    /**
+     * ヘッダー内の破棄したエントリーの累計の位置
+     */
+    static final int DROPPED_COUNT_OFFSET = 32;
+    /**
+     * セグメント・ファイル名の接頭辞
+     */
+    static final String FILE_PREFIX = "audit-";
+    /**
+     * セグメント・ファイル名の接尾辞
+     */
+    static final String FILE_SUFFIX = ".seg";
+
+    /**
+     * 一度に読み出すエントリーの最大の数
+     */
+    private static final int DRAIN_BATCH = 4096;
+    /**
+     * ディスクに同期する間隔 (ミリ秒)
+     */
+    private static final long FORCE_INTERVAL_MILLIS = 1000;
+    /**
+     * リング・バッファが空の場合に待つ時間 (ナノ秒)
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * 登録されている監査ログ
+     */
+    private static volatile AuditLog current = null;
+
+    /**
+     * セグメント・ファイルを格納するディレクトリ
+     */
+    private final Path directory;
+    /**
+     * 1つのセグメント・ファイルに格納するエントリーの数
+     */
+    private final int segmentEntries;
+    /**
+     * リング・バッファ
+     */
+    private final AuditRingBuffer ring;
+    /**
+     * 書き込みスレッド
+     */
+    private final Thread writer;
+    /**
+     * 停止が要求された場合は<code>true</code>
+     */
+    private volatile boolean closed = false;
+    /**
+     * 書き込みスレッドで発生した例外
+     */
+    private volatile IOException failure = null;
+    /**
+     * 次に作成するセグメント・ファイルの番号 (書き込みスレッドだけが使用する)
+     */
+    private long nextSegment;
+    /**
+     * 書き込み中のセグメント・ファイル (書き込みスレッドだけが使用する)
+     */
+    private MappedByteBuffer segment = null;
+    /**
+     * 書き込み中のセグメント・ファイルのエントリーの数 (書き込みスレッドだけが使用する)
+     */
+    private long segmentCount = 0;
+    /**
+     * ファイルに書き込んだエントリーの累計
+     */
+    private volatile long writtenCount = 0;
+
+    /**
+     * コンストラクタ。デフォルトのバッファとセグメントの大きさで、書き込みスレッドを開始します。
+     * 
+     * @param directory セグメント・ファイルを格納するディレクトリ
+     * @throws IOException ディレクトリを作成できない場合
+     * @since 1.10
+     */
+    public AuditLog(Path directory) throws IOException {
+        this(directory, DEFAULT_BUFFER_CAPACITY, DEFAULT_SEGMENT_ENTRIES);
+    }
+
+    /**
+     * コンストラクタ。書き込みスレッドを開始します。セグメント・ファイルの番号は、ディレクトリ内の既存のファイルに続けて付けます。
+     * 
+     * @param directory セグメント・ファイルを格納するディレクトリ
+     * @param bufferCapacity リング・バッファのスロット数 (2のべき乗に切り上げます)
+     * @param segmentEntries 1つのセグメント・ファイルに格納するエントリーの数
+     * @throws IOException ディレクトリを作成できない場合
+     * @throws IllegalArgumentException 引数に<code>null</code>もしくは範囲外の値が指定された場合
+     * @since 1.10
+     */
+    public AuditLog(Path directory, int bufferCapacity, int segmentEntries)
+            throws IOException, IllegalArgumentException {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory must be not null.");
+        }
+        if (segmentEntries <= 0 || segmentEntries > (Integer.MAX_VALUE - HEADER_SIZE) / ENTRY_SIZE) {
+            throw new IllegalArgumentException("segmentEntries is out of range.");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentEntries = segmentEntries;
+        this.ring = new AuditRingBuffer(bufferCapacity);
+        this.nextSegment = lastSegmentNumber(this.directory) + 1;
+        this.writer = new Thread(this::writeLoop, "fincrypto-audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * 監査ログを登録します。以後の暗号化と復号の操作が記録されます。
+     * 
+     * @param auditLog 監査ログ (<code>null</code>の場合は登録を解除します)
+     * @return 以前に登録されていた監査ログ
+     * @since 1.10
+     */
+    public static synchronized AuditLog install(AuditLog auditLog) {
+        AuditLog previous = current;
+        current = auditLog;
+        return previous;
+    }
+
+    /**
+     * 登録されている監査ログを返します。
+     * 
+     * @return 監査ログ。登録されていない場合は<code>null</code>
+     * @since 1.10
+     */
+    public static AuditLog current() {
+        return current;
+    }
+
+    /**
+     * 操作を記録します。呼び出し元のスレッドはファイルへの出力を待ちません。
+     * リング・バッファが満杯の場合、エントリーは破棄されます。
+     * 
+     * @param operation 操作の種類 ({@link #ENCRYPT}もしくは{@link #DECRYPT})
+     * @param keyId 鍵ID (<code>null</code>の場合は0を記録します)。複写せずに参照を保持するため、記録後に内容を変更してはいけません
+     * @param size データのバイト数
+     * @return 記録した場合は<code>true</code>、破棄した場合は<code>false</code>
+     * @since 1.10
+     */
+    public boolean record(int operation, byte[] keyId, long size) {
+        if (closed) {
+            return false;
+        }
+        return ring.offer(System.currentTimeMillis(), operation, keyId, size, Thread.currentThread().getId());
+    }
+
+    /**
+     * ファイルに書き込んだエントリーの累計を返します。
+     * 
+     * @return エントリーの数
+     * @since 1.10
+     */
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * リング・バッファが満杯のため破棄したエントリーの累計を返します。
+     * 
+     * @return エントリーの数
+     * @since 1.10
+     */
+    public long getDroppedCount() {
+        return ring.getDroppedCount();
+    }
+
+    /**
+     * 監査ログを停止します。リング・バッファに残っているエントリーを書き込み、ディスクに同期してから戻ります。
+     * 登録されている場合は登録を解除します。
+     * 
+     * @throws IOException 書き込みスレッドでファイルの出力に失敗していた場合
+     * @since 1.10
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (AuditLog.class) {
+            if (current == this) {
+                current = null;
+            }
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 書き込みスレッドの処理です。リング・バッファからエントリーを読み出してセグメント・ファイルに書き込みます。
+     */
+    private void writeLoop() {
+        long lastForce = System.currentTimeMillis();
+        boolean dirty = false;
+        try {
+            for (;;) {
+                // closedを読んだ後に残りを読み出すことで、停止前に記録されたエントリーを取りこぼさない
+                boolean stopping = closed;
+                if (segment == null || segmentCount == segmentEntries) {
+                    rotate();
+                }
+                int limit = (int) Math.min(DRAIN_BATCH, segmentEntries - segmentCount);
+                int n = ring.drainTo(segment, limit);
+                if (n > 0) {
+                    segmentCount += n;
+                    segment.putLong(ENTRY_COUNT_OFFSET, segmentCount);
+                    writtenCount += n;
+                    dirty = true;
+                }
+                long now = System.currentTimeMillis();
+                if (dirty && (n == 0 || now - lastForce >= FORCE_INTERVAL_MILLIS)) {
+                    force();
+                    lastForce = now;
+                    dirty = false;
+                }
+                if (n == 0) {
+                    if (stopping) {
+                        break;
+                    }
+                    LockSupport.parkNanos(IDLE_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+            closed = true;
+        }
+    }
+
+    /**
+     * 書き込み中のセグメント・ファイルを同期して、次のセグメント・ファイルを作成します。
+     * 
+     * @throws IOException ファイルの作成で例外がスローされた場合
+     */
+    private void rotate() throws IOException {
+        if (segment != null) {
+            force();
+        }
+        Path file = directory.resolve(segmentFileName(nextSegment++));
+        long size = HEADER_SIZE + (long) segmentEntries * ENTRY_SIZE;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // マッピングはチャネルを閉じた後も有効で、参照がなくなるとガベージ・コレクションで解放される
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        segment.putInt(MAGIC);
+        segment.putInt(VERSION);
+        segment.putInt(ENTRY_SIZE);
+        segment.putInt(0);
+        segment.putLong(System.currentTimeMillis());
+        segment.putLong(0);
+        segment.putLong(ring.getDroppedCount());
+        segment.position(HEADER_SIZE);
+        segmentCount = 0;
+    }
+
+    /**
+     * 書き込み中のセグメント・ファイルの破棄したエントリーの累計を更新して、ディスクに同期します。
+     */
+    private void force() {
+        segment.putLong(DROPPED_COUNT_OFFSET, ring.getDroppedCount());
+        segment.force();
+    }
+
+    /**
+     * セグメント・ファイルの番号からファイル名を返します。ファイル名の辞書順は番号順と一致します。
+     * 
+     * @param number セグメント・ファイルの番号
+     * @return ファイル名
+     */
+    static String segmentFileName(long number) {
+        return String.format("%s%020d%s", FILE_PREFIX, number, FILE_SUFFIX);
+    }
+
+    /**
+     * ディレクトリ内のセグメント・ファイルの最大の番号を返します。
+     * 
+     * @param dir ディレクトリ
+     * @return 最大の番号。セグメント・ファイルがない場合は0
+     * @throws IOException ディレクトリの読み込みで例外がスローされた場合
+     */
+    private static long lastSegmentNumber(Path dir) throws IOException {
+        long last = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    long number = Long.parseLong(
+                            name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+                    last = Math.max(last, number);
+                } catch (NumberFormatException e) {
+                    // 監査ログ以外のファイルは無視する
+                }
+            }
+        }
+        return last;
+    }
+}
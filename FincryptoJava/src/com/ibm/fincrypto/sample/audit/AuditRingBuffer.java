@@ -0,0 +1,199 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.audit;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 監査ログのエントリーを受け渡す、ロックを使用しない固定長のリング・バッファです。
+ * 複数のスレッドが同時に書き込み、1つのスレッドが読み出します。
+ * <p>
+ * エントリーの数値の項目は1つのlongの配列にスロットごとに32バイトずつ格納し、書き込み時にオブジェクトを生成しません。
+ * 鍵IDはバイト列の参照だけを格納し、内容の複写は読み出しスレッドが行います。
+ * スロットごとのシーケンス番号で書き込みの完了を公開するため、書き込み側の処理はカーソルの1回のCASと配列への書き込みだけです。
+ * バッファが満杯の場合は待たずにエントリーを破棄し、破棄した数を数えます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+final class AuditRingBuffer {
+
+    /**
+     * 鍵IDのバイト数 (SHA-256)
+     */
+    static final int KEY_ID_LENGTH = 32;
+    /**
+     * 1つのスロットの数値の項目を格納するlongの数
+     */
+    private static final int SLOT_LONGS = 4;
+    /**
+     * スロット内の時刻の位置
+     */
+    private static final int TIMESTAMP = 0;
+    /**
+     * スロット内のデータのバイト数の位置
+     */
+    private static final int SIZE = 1;
+    /**
+     * スロット内のスレッドIDの位置
+     */
+    private static final int THREAD_ID = 2;
+    /**
+     * スロット内の操作の種類の位置
+     */
+    private static final int OPERATION = 3;
+
+    /**
+     * スロット数から1を引いた値 (スロット数は2のべき乗)
+     */
+    private final int mask;
+    /**
+     * スロット数
+     */
+    private final int capacity;
+    /**
+     * スロットごとのシーケンス番号。書き込み可能な場合は書き込み位置と等しく、読み出し可能な場合は書き込み位置に1を加えた値
+     */
+    private final AtomicLongArray sequences;
+    /**
+     * スロットの内容 (スロットごとに{@link #SLOT_LONGS}個)
+     */
+    private final long[] slots;
+    /**
+     * スロットごとの鍵ID
+     */
+    private final byte[][] keyIds;
+    /**
+     * 次の書き込み位置
+     */
+    private final AtomicLong tail = new AtomicLong();
+    /**
+     * 次の読み出し位置 (読み出しスレッドだけが更新する)
+     */
+    private long head = 0;
+    /**
+     * 満杯のため破棄したエントリーの数
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param capacity スロット数 (2のべき乗に切り上げます)
+     * @throws IllegalArgumentException スロット数が正でない場合
+     */
+    AuditRingBuffer(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0 || capacity > 1 << 24) {
+            throw new IllegalArgumentException("capacity must be between 1 and 2^24.");
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.slots = new long[this.capacity * SLOT_LONGS];
+        this.keyIds = new byte[this.capacity][];
+    }
+
+    /**
+     * エントリーを書き込みます。複数のスレッドから同時に呼び出すことができます。
+     * 
+     * @param timestamp 時刻 (エポックからのミリ秒)
+     * @param operation 操作の種類
+     * @param keyId 鍵ID (<code>null</code>の場合は0を記録します)。読み出されるまで内容を変更してはいけません
+     * @param size データのバイト数
+     * @param threadId 呼び出し元のスレッドID
+     * @return 書き込んだ場合は<code>true</code>、満杯のため破棄した場合は<code>false</code>
+     */
+    boolean offer(long timestamp, int operation, byte[] keyId, long size, long threadId) {
+        long pos = tail.get();
+        int index;
+        for (;;) {
+            index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // 読み出しが追いついていない
+                dropped.increment();
+                return false;
+            } else {
+                // 他のスレッドが先にこの位置を取得した
+                pos = tail.get();
+            }
+        }
+        int base = index * SLOT_LONGS;
+        slots[base + TIMESTAMP] = timestamp;
+        slots[base + SIZE] = size;
+        slots[base + THREAD_ID] = threadId;
+        slots[base + OPERATION] = operation;
+        keyIds[index] = keyId;
+        // 書き込みの完了を読み出しスレッドに公開する
+        sequences.lazySet(index, pos + 1);
+        return true;
+    }
+
+    /**
+     * 書き込まれたエントリーを読み出して、{@link AuditLog#ENTRY_SIZE}バイトずつバッファに書き込みます。
+     * 読み出しスレッドだけが呼び出すことができます。
+     * 
+     * @param out 出力先のバッファ
+     * @param maxEntries 読み出す最大の数
+     * @return 読み出したエントリーの数
+     */
+    int drainTo(ByteBuffer out, int maxEntries) {
+        int count = 0;
+        while (count < maxEntries) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            int base = index * SLOT_LONGS;
+            out.putLong(slots[base + TIMESTAMP]);
+            out.putLong(slots[base + SIZE]);
+            out.putLong(slots[base + THREAD_ID]);
+            out.putInt((int) slots[base + OPERATION]);
+            out.putInt(0);
+            byte[] keyId = keyIds[index];
+            int length = keyId == null ? 0 : Math.min(keyId.length, KEY_ID_LENGTH);
+            if (length > 0) {
+                out.put(keyId, 0, length);
+            }
+            for (int i = length; i < KEY_ID_LENGTH; i++) {
+                out.put((byte) 0);
+            }
+            keyIds[index] = null;
+            // スロットを次の周回の書き込みに解放する
+            sequences.lazySet(index, head + capacity);
+            head++;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 満杯のため破棄したエントリーの数を返します。
+     * 
+     * @return 破棄したエントリーの数
+     */
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+}
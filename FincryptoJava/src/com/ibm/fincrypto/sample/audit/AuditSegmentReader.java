@@ -0,0 +1,142 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 監査ログのセグメント・ファイルを読み込むクラスです。書き込み中のセグメント・ファイルも、ヘッダーに記録された数まで読み込めます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public final class AuditSegmentReader {
+
+    /**
+     * インスタンス化を禁止するためのコンストラクタ。
+     */
+    private AuditSegmentReader() {
+    }
+
+    /**
+     * セグメント・ファイルのエントリーを読み込みます。
+     * 
+     * @param file セグメント・ファイル
+     * @return エントリーのリスト (記録順)
+     * @throws IOException ファイルの入力で例外がスローされた場合、もしくはファイルの形式が不正な場合
+     * @since 1.10
+     */
+    public static List<AuditEntry> read(Path file) throws IOException {
+        MappedByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buf.limit() < AuditLog.HEADER_SIZE || buf.getInt(0) != AuditLog.MAGIC) {
+            throw new IOException("not an audit segment: " + file);
+        }
+        if (buf.getInt(4) != AuditLog.VERSION || buf.getInt(8) != AuditLog.ENTRY_SIZE) {
+            throw new IOException("unsupported audit segment version: " + file);
+        }
+        long count = buf.getLong(AuditLog.ENTRY_COUNT_OFFSET);
+        if (count < 0 || AuditLog.HEADER_SIZE + count * AuditLog.ENTRY_SIZE > buf.limit()) {
+            throw new IOException("corrupted audit segment: " + file);
+        }
+        List<AuditEntry> entries = new ArrayList<>((int) count);
+        buf.position(AuditLog.HEADER_SIZE);
+        for (long i = 0; i < count; i++) {
+            long timestamp = buf.getLong();
+            long size = buf.getLong();
+            long threadId = buf.getLong();
+            int operation = buf.getInt();
+            buf.getInt();
+            byte[] keyId = new byte[AuditRingBuffer.KEY_ID_LENGTH];
+            buf.get(keyId);
+            entries.add(new AuditEntry(timestamp, operation, keyId, size, threadId));
+        }
+        return entries;
+    }
+
+    /**
+     * セグメント・ファイルに記録された、リング・バッファが満杯のため破棄したエントリーの累計を返します。
+     * 
+     * @param file セグメント・ファイル
+     * @return 最後に同期した時点の破棄したエントリーの累計
+     * @throws IOException ファイルの入力で例外がスローされた場合、もしくはファイルの形式が不正な場合
+     * @since 1.10
+     */
+    public static long readDroppedCount(Path file) throws IOException {
+        MappedByteBuffer buf;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, AuditLog.HEADER_SIZE);
+        }
+        if (buf.getInt(0) != AuditLog.MAGIC) {
+            throw new IOException("not an audit segment: " + file);
+        }
+        return buf.getLong(AuditLog.DROPPED_COUNT_OFFSET);
+    }
+
+    /**
+     * ディレクトリ内のセグメント・ファイルを番号順に返します。
+     * 
+     * @param directory セグメント・ファイルを格納するディレクトリ
+     * @return セグメント・ファイルのリスト
+     * @throws IOException ディレクトリの読み込みで例外がスローされた場合
+     * @since 1.10
+     */
+    public static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                AuditLog.FILE_PREFIX + "*" + AuditLog.FILE_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * メイン関数。指定されたディレクトリのセグメント・ファイルのエントリーを、タブ区切りで標準出力に出力します。
+     * <pre>
+     * AuditSegmentReader ディレクトリ
+     * </pre>
+     * 
+     * @param args コマンドライン引数
+     * @throws IOException ファイルの入力で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: AuditSegmentReader DIRECTORY");
+            System.exit(2);
+        }
+        long dropped = 0;
+        for (Path file : listSegments(Paths.get(args[0]))) {
+            for (AuditEntry entry : read(file)) {
+                System.out.println(entry);
+            }
+            dropped = readDroppedCount(file);
+        }
+        System.err.println("dropped = " + dropped);
+    }
+}
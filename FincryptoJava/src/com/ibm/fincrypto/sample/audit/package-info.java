@@ -0,0 +1,20 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+
+/**
+ * 暗号化と復号の操作を記録する監査ログを提供します。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+package com.ibm.fincrypto.sample.audit;
\ No newline at end of file
@@ -17,17 +17,13 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.security.GeneralSecurityException;
-import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.interfaces.RSAPublicKey;
-import java.security.spec.AlgorithmParameterSpec;
 
-import javax.crypto.Cipher;
 import javax.crypto.SecretKey;
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
 
 import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.RSADecryptor;
 import com.ibm.fincrypto.sample.RSAEncryptor;
 import com.ibm.fincrypto.sample.key.KeyInfo;
 import com.ibm.fincrypto.sample.key.KeyStoreKeyInfo;
@@ -44,10 +40,15 @@ public class Client {
 
     /**
      * メイン関数。3種類の形式のRSA公開鍵を使用して、暗号化鍵による暗号化/復号を実行します。
+     * 引数が指定された場合は、{@link LoadGenerator}により指定された条件で負荷を生成して性能を測定します。
      * 
      * @since 1.00
      */
     public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            LoadGenerator.main(args);
+            return;
+        }
         Client client = new Client();
         Alice alice = new Alice();
 
@@ -177,6 +178,7 @@ public class Client {
         }
         System.out.println("RSA-Encrypted AES Key = " + Utils.getHexString(encryptedKey));
         System.out.println("Length of encrypted AES key = " + encryptedKey.length);
+        System.out.println("Key ID = " + Utils.getHexString(outData.getKeyId()));
     }
 
     /**
@@ -206,6 +208,10 @@ public class Client {
          * 秘密鍵のパスワード
          */
         private final String keyPassword = "alicepass";
+        /**
+         * 復号を行うインスタンス (秘密鍵を読み込んだ後に再利用する)
+         */
+        private RSADecryptor decryptor = null;
 
         /**
          * 暗号化結果データを復号し、結果を返します。
@@ -216,45 +222,11 @@ public class Client {
          * @since 1.00
          */
         public byte[] decrypt(EncryptionOutputData outData) throws GeneralSecurityException {
-            KeyStoreKeyInfo keyInfo = new KeyStoreKeyInfo(alias, keyStoreType, keyStoreFilePath, keyStorePassword);
-            // 暗号化されたAES鍵を復号する
-            byte[] aesKey = decryptKey(keyInfo.getPrivateKey(keyPassword), outData.getEncryptedKey());
-            // AES鍵を使用して暗号化データを復号する
-            return decryptData(new SecretKeySpec(aesKey, "AES"), new IvParameterSpec(outData.getInitialVector()),
-                    outData.getCipherText());
-        }
-
-        /**
-         * RSA秘密鍵を使用して暗号化されたAES鍵を復号します。
-         * 
-         * @param privateKey RSA秘密鍵
-         * @param encryptedKey 暗号化されたAES鍵
-         * @return 復号されたAES鍵
-         * @throws GeneralSecurityException 復号処理で例外がスローされた場合
-         * @since 1.00
-         */
-        private byte[] decryptKey(PrivateKey privateKey, byte[] encryptedKey) throws GeneralSecurityException {
-            Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding");
-            cipher.init(Cipher.DECRYPT_MODE, privateKey);
-            return cipher.doFinal(encryptedKey);
-        }
-
-        /**
-         * AES鍵を使用して暗号化されたデータを復号します。
-         * 
-         * @param aesKey AES鍵
-         * @param iv 暗号化の際に使用した初期化ベクトル
-         * @param data 暗号化されたデータ
-         * @return 復号されたデータ
-         * @throws GeneralSecurityException 復号処理で例外がスローされた場合
-         * @since 1.00
-         */
-        private byte[] decryptData(SecretKey aesKey, AlgorithmParameterSpec iv, byte[] data)
-                throws GeneralSecurityException {
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            cipher.init(Cipher.DECRYPT_MODE, aesKey, iv);
-            // AES復号実施
-            return cipher.doFinal(data);
+            if (decryptor == null) {
+                KeyStoreKeyInfo keyInfo = new KeyStoreKeyInfo(alias, keyStoreType, keyStoreFilePath, keyStorePassword);
+                decryptor = new RSADecryptor(keyInfo, keyPassword);
+            }
+            return decryptor.decrypt(outData);
         }
     }
 }
@@ -0,0 +1,144 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.client;
+
+/**
+ * レイテンシー(ナノ秒)の分布を記録するヒストグラムです。値を2のべき乗ごとの区間に分け、各区間をさらに128個の
+ * 小区間に分割して数えるため、記録される値の相対誤差は1%未満で、メモリ使用量は値の範囲によらず一定です。
+ * 記録は1つのスレッドから行い、集計時に{@link #add(LatencyHistogram)}で他のスレッドのヒストグラムを合算します。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+class LatencyHistogram {
+
+    /**
+     * 小区間の数を表すビット数
+     */
+    private static final int SUB_BUCKET_BITS = 7;
+    /**
+     * 1つの区間内の小区間の数
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    /**
+     * 誤差なしで記録される値の上限
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+    /**
+     * 小区間ごとの記録数
+     */
+    private final long[] counts = new long[LINEAR_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT];
+    /**
+     * 記録数の合計
+     */
+    private long totalCount = 0;
+    /**
+     * 記録された最大値
+     */
+    private long maxValue = 0;
+
+    /**
+     * 値を記録します。負の値は0として記録します。
+     * 
+     * @param value 値 (ナノ秒)
+     */
+    void record(long value) {
+        long v = Math.max(0, value);
+        counts[indexOf(v)]++;
+        totalCount++;
+        maxValue = Math.max(maxValue, v);
+    }
+
+    /**
+     * 他のヒストグラムの記録を合算します。
+     * 
+     * @param other 合算するヒストグラム
+     */
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    /**
+     * 記録数の合計を返します。
+     * 
+     * @return 記録数の合計
+     */
+    long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * 記録された最大値を返します。
+     * 
+     * @return 最大値 (ナノ秒)
+     */
+    long getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * 指定されたパーセンタイルの値を返します。値は該当する小区間の上限です。
+     * 
+     * @param percentile パーセンタイル (0から100)
+     * @return パーセンタイルの値 (ナノ秒)。記録がない場合は0
+     */
+    long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValueAt(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * 値に対応する小区間のインデックスを返します。
+     * 
+     * @param value 0以上の値
+     * @return インデックス
+     */
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        // 最上位ビットの位置から、小区間が[SUB_BUCKET_COUNT, 2*SUB_BUCKET_COUNT)に収まるシフト量を求める
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + sub;
+    }
+
+    /**
+     * 小区間に含まれる最大の値を返します。
+     * 
+     * @param index インデックス
+     * @return 最大の値
+     */
+    private static long highestValueAt(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + 1;
+        long sub = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((sub + 1) << shift) - 1;
+    }
+}
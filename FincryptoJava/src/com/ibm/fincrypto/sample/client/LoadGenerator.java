@@ -0,0 +1,496 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.client;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.ibm.fincrypto.sample.DeflateCodec;
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.RSADecryptor;
+import com.ibm.fincrypto.sample.RSAEncryptor;
+import com.ibm.fincrypto.sample.key.KeyInfo;
+import com.ibm.fincrypto.sample.key.KeyStoreKeyInfo;
+import com.ibm.fincrypto.sample.key.PKCS8KeyInfo;
+import com.ibm.fincrypto.sample.key.PairValueKeyInfo;
+
+/**
+ * 暗号化APIの負荷を生成し、スループットとレイテンシーを測定するコマンドライン・ツールです。
+ * 以下のオプションを指定できます。
+ * <ul>
+ * <li><code>--mode encrypt|decrypt|roundtrip</code> 測定する処理 (デフォルトはroundtrip)
+ * <li><code>--threads N</code> 負荷を生成するスレッド数 (デフォルトはプロセッサ数)
+ * <li><code>--duration 秒</code> 測定時間 (デフォルトは30秒)
+ * <li><code>--warmup 秒</code> 測定前のウォームアップ時間 (デフォルトは5秒)
+ * <li><code>--rate 件/秒</code> 全スレッド合計の目標スループット (デフォルトは0で、制限なし)
+ * <li><code>--payload fixed:N|uniform:MIN-MAX|choice:N1,N2,...</code> 平文のバイト数の分布 (デフォルトはfixed:1024)
+ * <li><code>--key hex|keystore|pkcs8</code> 使用するRSA公開鍵の形式 (デフォルトはpkcs8)
+ * <li><code>--session thread|op</code> AES鍵をスレッドごとに使い回すか、処理ごとに生成するか (デフォルトはthread)
+ * <li><code>--compress 閾値</code> 指定したバイト数以上の平文をDeflateで圧縮する (デフォルトは圧縮なし)
+ * </ul>
+ * <code>--rate</code>を指定した場合、各処理は予定された開始時刻から完了までをレイテンシーとして記録します。
+ * 処理の遅延により後続の処理の開始が遅れた時間もレイテンシーに含まれるため、Coordinated Omissionが補正された値になります。
+ * 鍵ファイルは{@link Client}と同じものをカレント・ディレクトリから読み込みます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class LoadGenerator {
+
+    /**
+     * 復号を行うデータをスレッドごとに事前に作成する数
+     */
+    private static final int PREPARED_RECORDS = 1024;
+    /**
+     * 平文の生成に使用する文字
+     */
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789<>/=\" "
+            .toCharArray();
+
+    /**
+     * 測定する処理
+     */
+    private String mode = "roundtrip";
+    /**
+     * スレッド数
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    /**
+     * 測定時間 (秒)
+     */
+    private int duration = 30;
+    /**
+     * ウォームアップ時間 (秒)
+     */
+    private int warmup = 5;
+    /**
+     * 全スレッド合計の目標スループット (件/秒)
+     */
+    private double rate = 0;
+    /**
+     * 平文のバイト数の分布
+     */
+    private String payload = "fixed:1024";
+    /**
+     * RSA公開鍵の形式
+     */
+    private String key = "pkcs8";
+    /**
+     * AES鍵の生成単位
+     */
+    private String session = "thread";
+    /**
+     * 圧縮を行う平文の最小のバイト数 (負の場合は圧縮しない)
+     */
+    private int compressThreshold = -1;
+
+    /**
+     * メイン関数。コマンドライン引数で指定された条件で負荷を生成し、結果を標準出力に出力します。
+     * 
+     * @param args コマンドライン引数
+     * @throws Exception 負荷の生成で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws Exception {
+        LoadGenerator generator = new LoadGenerator();
+        try {
+            generator.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("usage: LoadGenerator [--mode encrypt|decrypt|roundtrip] [--threads N]"
+                    + " [--duration SEC] [--warmup SEC] [--rate OPS] [--payload fixed:N|uniform:MIN-MAX|choice:N1,N2]"
+                    + " [--key hex|keystore|pkcs8] [--session thread|op] [--compress THRESHOLD]");
+            System.exit(2);
+        }
+        generator.run();
+    }
+
+    /**
+     * コマンドライン引数を解析します。
+     * 
+     * @param args コマンドライン引数
+     * @throws IllegalArgumentException 引数が不正な場合
+     */
+    private void parseArgs(String[] args) throws IllegalArgumentException {
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("missing value for " + args[i]);
+            }
+            String value = args[i + 1];
+            switch (args[i]) {
+            case "--mode":
+                mode = value;
+                break;
+            case "--threads":
+                threads = Integer.parseInt(value);
+                break;
+            case "--duration":
+                duration = Integer.parseInt(value);
+                break;
+            case "--warmup":
+                warmup = Integer.parseInt(value);
+                break;
+            case "--rate":
+                rate = Double.parseDouble(value);
+                break;
+            case "--payload":
+                payload = value;
+                break;
+            case "--key":
+                key = value;
+                break;
+            case "--session":
+                session = value;
+                break;
+            case "--compress":
+                compressThreshold = Integer.parseInt(value);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown option: " + args[i]);
+            }
+        }
+        if (!mode.matches("encrypt|decrypt|roundtrip") || !session.matches("thread|op") || threads <= 0
+                || duration <= 0 || warmup < 0 || rate < 0) {
+            throw new IllegalArgumentException("invalid option value.");
+        }
+        // 分布の指定を検証する
+        payloadSizes(new Random(0), 1);
+    }
+
+    /**
+     * 負荷を生成して結果を出力します。
+     * 
+     * @throws Exception 負荷の生成で例外がスローされた場合
+     */
+    private void run() throws Exception {
+        final KeyInfo keyInfo = loadKeyInfo(key);
+        final RSADecryptor decryptor = new RSADecryptor(
+                new KeyStoreKeyInfo("alice", "JCEKS", "alice.jck", "alicepass"), "alicepass");
+        System.out.println("mode = " + mode + ", threads = " + threads + ", duration = " + duration + "s, warmup = "
+                + warmup + "s, rate = " + (rate > 0 ? rate + "/s" : "unlimited") + ", payload = " + payload
+                + ", key = " + key + ", session = " + session);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // 鍵の読み込みやデータの準備の時間を測定に含めないよう、すべてのスレッドの準備が完了してから開始時刻を決める
+        List<Worker> workers = new ArrayList<>(threads);
+        List<Future<Worker>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final Worker worker = new Worker(i, keyInfo, decryptor);
+            workers.add(worker);
+            futures.add(executor.submit(new Callable<Worker>() {
+                @Override
+                public Worker call() throws Exception {
+                    worker.prepare();
+                    return worker;
+                }
+            }));
+        }
+        for (Future<Worker> future : futures) {
+            future.get();
+        }
+
+        final long start = System.nanoTime();
+        final long measureStart = start + TimeUnit.SECONDS.toNanos(warmup);
+        final long end = measureStart + TimeUnit.SECONDS.toNanos(duration);
+        futures.clear();
+        for (final Worker worker : workers) {
+            futures.add(executor.submit(new Callable<Worker>() {
+                @Override
+                public Worker call() throws Exception {
+                    worker.run(start, measureStart, end);
+                    return worker;
+                }
+            }));
+        }
+        LatencyHistogram response = new LatencyHistogram();
+        LatencyHistogram service = new LatencyHistogram();
+        long bytes = 0;
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            response.add(worker.response);
+            service.add(worker.service);
+            bytes += worker.bytes;
+        }
+        executor.shutdown();
+        printResult(response, service, bytes);
+    }
+
+    /**
+     * 測定結果を出力します。
+     * 
+     * @param response 予定された開始時刻からのレイテンシー
+     * @param service 実際の開始時刻からのレイテンシー
+     * @param bytes 処理した平文のバイト数
+     */
+    private void printResult(LatencyHistogram response, LatencyHistogram service, long bytes) {
+        long count = service.getTotalCount();
+        System.out.println(">>>> 測定結果 :");
+        System.out.println("operations = " + count);
+        System.out.println(String.format("throughput = %.1f ops/s, %.2f MB/s", count / (double) duration,
+                bytes / (double) duration / (1024 * 1024)));
+        if (rate > 0) {
+            printLatency("response time (CO corrected)", response);
+        }
+        printLatency("service time", service);
+    }
+
+    /**
+     * レイテンシーのパーセンタイルを出力します。
+     * 
+     * @param label 見出し
+     * @param histogram ヒストグラム
+     */
+    private static void printLatency(String label, LatencyHistogram histogram) {
+        System.out.println(String.format("%s [us]: p50 = %.1f, p90 = %.1f, p99 = %.1f, p99.9 = %.1f, max = %.1f",
+                label, histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0));
+    }
+
+    /**
+     * 形式に対応するRSA公開鍵情報を読み込みます。
+     * 
+     * @param type RSA公開鍵の形式
+     * @return RSA公開鍵情報
+     * @throws IOException ファイルの入力で例外がスローされた場合
+     * @throws GeneralSecurityException 鍵の処理で例外がスローされた場合
+     */
+    private static KeyInfo loadKeyInfo(String type) throws IOException, GeneralSecurityException {
+        switch (type) {
+        case "hex":
+            byte[] bytes = Files.readAllBytes(new File("pubkey_hexstr.txt").toPath());
+            String[] values = new String(bytes, StandardCharsets.UTF_8).split("&");
+            return new PairValueKeyInfo(values[0], values[1]);
+        case "keystore":
+            return new KeyStoreKeyInfo("alice", "JCEKS", "bob.jck", "bobpass");
+        case "pkcs8":
+            return new PKCS8KeyInfo("alice.der");
+        default:
+            throw new IllegalArgumentException("unknown key type: " + type);
+        }
+    }
+
+    /**
+     * 分布に従って平文のバイト数を生成します。
+     * 
+     * @param random 乱数生成器
+     * @param count 生成する数
+     * @return 平文のバイト数の配列
+     * @throws IllegalArgumentException 分布の指定が不正な場合
+     */
+    private int[] payloadSizes(Random random, int count) throws IllegalArgumentException {
+        int[] sizes = new int[count];
+        try {
+            String[] spec = payload.split(":", 2);
+            for (int i = 0; i < count; i++) {
+                switch (spec[0]) {
+                case "fixed":
+                    sizes[i] = Integer.parseInt(spec[1]);
+                    break;
+                case "uniform":
+                    String[] range = spec[1].split("-");
+                    int min = Integer.parseInt(range[0]);
+                    sizes[i] = min + random.nextInt(Integer.parseInt(range[1]) - min + 1);
+                    break;
+                case "choice":
+                    String[] choices = spec[1].split(",");
+                    sizes[i] = Integer.parseInt(choices[random.nextInt(choices.length)]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown payload distribution: " + payload);
+                }
+                if (sizes[i] <= 0) {
+                    throw new IllegalArgumentException("payload size must be positive: " + payload);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("invalid payload distribution: " + payload, e);
+        }
+        return sizes;
+    }
+
+    /**
+     * 負荷を生成するスレッドの処理と測定結果を保持するクラスです。
+     * 
+     * @version 1.10, 2026/10/18
+     * @since 1.10
+     */
+    private class Worker {
+        /**
+         * スレッドの番号
+         */
+        private final int index;
+        /**
+         * RSA公開鍵情報
+         */
+        private final KeyInfo keyInfo;
+        /**
+         * 全スレッドで共有する復号インスタンス
+         */
+        private final RSADecryptor decryptor;
+        /**
+         * 事前に生成した平文
+         */
+        private final String[] plainTexts = new String[PREPARED_RECORDS];
+        /**
+         * 事前に生成した平文のUTF-8のバイト列 (往復の結果の検証と処理したバイト数の集計で使用)
+         */
+        private final byte[][] plainBins = new byte[PREPARED_RECORDS][];
+        /**
+         * 事前に暗号化したデータ (復号の測定で使用)
+         */
+        private final EncryptionOutputData[] records = new EncryptionOutputData[PREPARED_RECORDS];
+        /**
+         * 予定された開始時刻からのレイテンシー
+         */
+        private final LatencyHistogram response = new LatencyHistogram();
+        /**
+         * 実際の開始時刻からのレイテンシー
+         */
+        private final LatencyHistogram service = new LatencyHistogram();
+        /**
+         * 処理した平文のバイト数
+         */
+        private long bytes = 0;
+        /**
+         * スレッドごとに使い回す暗号化インスタンス
+         */
+        private RSAEncryptor encryptor;
+
+        /**
+         * コンストラクタ。
+         * 
+         * @param index スレッドの番号
+         * @param keyInfo RSA公開鍵情報
+         * @param decryptor 全スレッドで共有する復号インスタンス
+         */
+        Worker(int index, KeyInfo keyInfo, RSADecryptor decryptor) {
+            this.index = index;
+            this.keyInfo = keyInfo;
+            this.decryptor = decryptor;
+        }
+
+        /**
+         * 終了時刻まで処理を繰り返します。{@link #prepare()}の後に呼び出します。
+         * 
+         * @param start 開始時刻
+         * @param measureStart 測定を開始する時刻
+         * @param end 終了時刻
+         * @throws GeneralSecurityException 暗号化もしくは復号で例外がスローされた場合
+         */
+        void run(long start, long measureStart, long end) throws GeneralSecurityException {
+            // 目標スループットが指定された場合は、スレッドごとに等間隔の開始予定時刻を割り当てる
+            long interval = rate > 0 ? (long) (threads * 1e9 / rate) : 0;
+            long intended = start + (interval * index) / threads;
+            long now = System.nanoTime();
+            for (int i = 0; now < end; i = (i + 1) % PREPARED_RECORDS) {
+                if (interval > 0) {
+                    while ((now = System.nanoTime()) < intended) {
+                        LockSupport.parkNanos(intended - now);
+                    }
+                } else {
+                    intended = now;
+                }
+                long opStart = System.nanoTime();
+                int length = execute(i);
+                now = System.nanoTime();
+                if (opStart >= measureStart && now < end) {
+                    response.record(now - intended);
+                    service.record(now - opStart);
+                    bytes += length;
+                }
+                intended += interval;
+            }
+        }
+
+        /**
+         * 平文と復号の測定に使用する暗号化データを事前に作成し、鍵の読み込みとAES鍵の生成を済ませます。
+         * 
+         * @throws GeneralSecurityException 暗号化もしくは復号で例外がスローされた場合
+         */
+        void prepare() throws GeneralSecurityException {
+            Random random = new Random(index);
+            int[] sizes = payloadSizes(random, PREPARED_RECORDS);
+            for (int i = 0; i < PREPARED_RECORDS; i++) {
+                char[] chars = new char[sizes[i]];
+                for (int j = 0; j < chars.length; j++) {
+                    chars[j] = ALPHABET[random.nextInt(ALPHABET.length)];
+                }
+                plainTexts[i] = new String(chars);
+                plainBins[i] = plainTexts[i].getBytes(StandardCharsets.UTF_8);
+            }
+            if ("decrypt".equals(mode)) {
+                for (int i = 0; i < PREPARED_RECORDS; i++) {
+                    records[i] = encryptor().encryptData(plainTexts[i], null);
+                }
+            }
+            // 公開鍵と秘密鍵の読み込み、およびスレッド単位のAES鍵の生成とRSA公開鍵による暗号化を済ませておく
+            EncryptionOutputData warm = encryptor().encryptData(plainTexts[0], null);
+            if (!"encrypt".equals(mode)) {
+                decryptor.decrypt(warm);
+            }
+        }
+
+        /**
+         * 1件の処理を実行します。
+         * 
+         * @param i 事前に作成したデータの番号
+         * @return 処理した平文のバイト数
+         * @throws GeneralSecurityException 暗号化もしくは復号で例外がスローされた場合
+         */
+        private int execute(int i) throws GeneralSecurityException {
+            switch (mode) {
+            case "encrypt":
+                encryptor().encryptData(plainTexts[i], null);
+                break;
+            case "decrypt":
+                decryptor.decrypt(records[i]);
+                break;
+            default:
+                byte[] plainBin = decryptor.decrypt(encryptor().encryptData(plainTexts[i], null));
+                if (!Arrays.equals(plainBin, plainBins[i])) {
+                    throw new GeneralSecurityException("round trip result does not match the plain text.");
+                }
+            }
+            return plainBins[i].length;
+        }
+
+        /**
+         * AES鍵の生成単位に従って暗号化インスタンスを返します。
+         * 
+         * @return 暗号化インスタンス
+         */
+        private RSAEncryptor encryptor() {
+            if (encryptor == null || "op".equals(session)) {
+                encryptor = new RSAEncryptor(keyInfo);
+                if (compressThreshold >= 0) {
+                    encryptor.setCompression(new DeflateCodec(), compressThreshold);
+                }
+            }
+            return encryptor;
+        }
+    }
+}
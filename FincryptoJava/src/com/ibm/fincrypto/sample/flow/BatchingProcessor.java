@@ -0,0 +1,410 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.flow;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 上流から受け取ったデータをバッチ単位で変換して下流に渡す{@link Flow.Processor}です。
+ * <p>
+ * 上流には、受け取ったまま変換していないデータと要求中のデータの合計がバッチ・サイズの2倍になるまで先行して要求し、
+ * 下流には要求された数だけデータを渡します。変換済みのデータを下流に渡し終えるまでは上流に追加の要求をしないため、
+ * 下流の処理が遅い場合は上流への要求が止まり、メモリー使用量は増え続けません。
+ * 受け取ったデータがバッチ・サイズに達した場合、上流に要求した分をすべて受け取った場合、
+ * もしくは最初のデータを受け取ってから最大待ち時間が経過した場合にバッチを変換します。
+ * <p>
+ * 変換と下流への通知は、上流の{@link #onNext(Object)}もしくは下流の{@link Flow.Subscription#request(long)}を呼び出したスレッドで、
+ * 一度に1つのスレッドだけが行います。このため、{@link #process(List)}はスレッドセーフである必要はありません。
+ * 下流の購読者は1つだけです。
+ * 
+ * @param <T> 上流から受け取るデータの型
+ * @param <R> 下流に渡すデータの型
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public abstract class BatchingProcessor<T, R> implements Flow.Processor<T, R> {
+
+    /**
+     * バッチ・サイズのデフォルト値
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    /**
+     * バッチがそろうまでの最大待ち時間のデフォルト値 (ミリ秒)
+     */
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 10;
+
+    /**
+     * バッチ・サイズ
+     */
+    private final int batchSize;
+    /**
+     * 上流に要求する、受け取り前のデータを含めた最大のデータ数
+     */
+    private final int prefetch;
+    /**
+     * バッチがそろうまでの最大待ち時間 (ナノ秒)
+     */
+    private volatile long maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_DELAY_MILLIS);
+    /**
+     * 上流の購読
+     */
+    private final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+    /**
+     * 下流の購読者が登録されたかどうか
+     */
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    /**
+     * 下流の購読者
+     */
+    private volatile Flow.Subscriber<? super R> downstream;
+    /**
+     * 上流から受け取り、変換していないデータ
+     */
+    private final Queue<T> inbox = new ConcurrentLinkedQueue<>();
+    /**
+     * 上流から受け取り、変換していないデータの数
+     */
+    private final AtomicInteger inboxSize = new AtomicInteger();
+    /**
+     * 変換済みで、下流に渡していないデータ (通知中のスレッドだけが操作する)
+     */
+    private final Queue<R> outbox = new ArrayDeque<>();
+    /**
+     * 下流から要求され、まだ渡していないデータの数
+     */
+    private final AtomicLong demand = new AtomicLong();
+    /**
+     * 上流に要求し、まだ受け取っていないデータの数
+     */
+    private final AtomicLong outstanding = new AtomicLong();
+    /**
+     * 通知処理の実行要求の数 (0の場合は通知中のスレッドがない)
+     */
+    private final AtomicInteger wip = new AtomicInteger();
+    /**
+     * 上流が終了したかどうか
+     */
+    private volatile boolean upstreamDone;
+    /**
+     * 下流に通知するエラー
+     */
+    private volatile Throwable error;
+    /**
+     * 下流が購読を取り消したかどうか
+     */
+    private volatile boolean cancelled;
+    /**
+     * 下流に終了を通知したかどうか (通知中のスレッドだけが操作する)
+     */
+    private boolean terminated;
+    /**
+     * 変換を待っているデータを最初に確認した時刻 (System.nanoTime()の値。通知中のスレッドだけが操作する)
+     */
+    private long waitingSince;
+    /**
+     * 最大待ち時間の経過後に通知処理を実行する予約があるかどうか
+     */
+    private final AtomicBoolean timerScheduled = new AtomicBoolean();
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param batchSize バッチ・サイズ
+     * @throws IllegalArgumentException バッチ・サイズが正でない場合
+     * @since 1.10
+     */
+    protected BatchingProcessor(int batchSize) throws IllegalArgumentException {
+        if (batchSize <= 0 || batchSize > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("batchSize must be positive.");
+        }
+        this.batchSize = batchSize;
+        this.prefetch = batchSize * 2;
+    }
+
+    /**
+     * バッチがそろうまでの最大待ち時間を設定します。上流からのデータが途切れた場合は、最大待ち時間の経過後に、
+     * そろっていないバッチを変換します。
+     * 
+     * @param maxDelayMillis 最大待ち時間 (ミリ秒)
+     * @throws IllegalArgumentException 負の値が指定された場合
+     * @since 1.10
+     */
+    public void setMaxDelayMillis(long maxDelayMillis) throws IllegalArgumentException {
+        if (maxDelayMillis < 0) {
+            throw new IllegalArgumentException("maxDelayMillis must be zero or positive.");
+        }
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+    }
+
+    /**
+     * 1つのバッチを変換します。
+     * 
+     * @param batch 上流から受け取ったデータ (1件以上、バッチ・サイズ以下)
+     * @return 変換したデータ
+     * @throws GeneralSecurityException 暗号化処理で例外がスローされた場合
+     * @throws IOException データの入出力で例外がスローされた場合
+     * @since 1.10
+     */
+    protected abstract List<R> process(List<T> batch) throws GeneralSecurityException, IOException;
+
+    /**
+     * 下流の購読者を登録します。購読者がすでに登録されている場合は、新しい購読者にエラーを通知します。
+     * 
+     * @param subscriber 購読者
+     * @since 1.10
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber must be not null.");
+        }
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("only one subscriber is supported."));
+            return;
+        }
+        downstream = subscriber;
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    cancelUpstream();
+                    error = new IllegalArgumentException("the number of requested items must be positive.");
+                    upstreamDone = true;
+                } else {
+                    demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                cancelUpstream();
+                drain();
+            }
+        });
+        drain();
+    }
+
+    /**
+     * 上流の購読を開始します。
+     * 
+     * @param subscription 上流の購読
+     * @since 1.10
+     */
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (subscription == null) {
+            throw new NullPointerException("subscription must be not null.");
+        }
+        if (cancelled || !upstream.compareAndSet(null, subscription)) {
+            subscription.cancel();
+            return;
+        }
+        drain();
+    }
+
+    /**
+     * 上流からデータを受け取ります。
+     * 
+     * @param item データ
+     * @since 1.10
+     */
+    @Override
+    public void onNext(T item) {
+        if (item == null) {
+            throw new NullPointerException("item must be not null.");
+        }
+        if (upstreamDone || cancelled) {
+            return;
+        }
+        inbox.offer(item);
+        inboxSize.incrementAndGet();
+        outstanding.decrementAndGet();
+        drain();
+    }
+
+    /**
+     * 上流のエラーを受け取ります。変換していないデータは破棄し、下流にエラーを通知します。
+     * 
+     * @param throwable エラー
+     * @since 1.10
+     */
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+        upstreamDone = true;
+        drain();
+    }
+
+    /**
+     * 上流の終了を受け取ります。残りのデータを変換して下流に渡した後、下流に終了を通知します。
+     * 
+     * @since 1.10
+     */
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    /**
+     * 上流の購読を取り消します。
+     */
+    private void cancelUpstream() {
+        Flow.Subscription subscription = upstream.get();
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * 変換と下流への通知を行います。他のスレッドが通知中の場合は、そのスレッドに処理を任せて直ちに戻ります。
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super R> subscriber = downstream;
+            if (cancelled) {
+                clear();
+            } else if (subscriber != null && !terminated) {
+                drainLoop(subscriber);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * 要求数の範囲で下流にデータを渡し、必要に応じてバッチを変換し、上流に追加のデータを要求します。
+     * 
+     * @param subscriber 下流の購読者
+     */
+    private void drainLoop(Flow.Subscriber<? super R> subscriber) {
+        for (;;) {
+            Throwable e = error;
+            if (e != null) {
+                terminated = true;
+                clear();
+                subscriber.onError(e);
+                return;
+            }
+            while (!outbox.isEmpty() && demand.get() > 0) {
+                if (cancelled) {
+                    return;
+                }
+                demand.getAndUpdate(d -> d == Long.MAX_VALUE ? d : d - 1);
+                subscriber.onNext(outbox.poll());
+            }
+            if (cancelled || !outbox.isEmpty()) {
+                return;
+            }
+
+            // 上流の終了を先に確認する (終了後は受け取ったデータの数が変わらない)
+            boolean done = upstreamDone;
+            int size = inboxSize.get();
+            if (size > 0 && size < batchSize && !done && outstanding.get() > 0) {
+                // バッチがそろうまで最大待ち時間だけ待つ
+                long now = System.nanoTime();
+                if (waitingSince == 0) {
+                    waitingSince = now;
+                }
+                long remaining = maxDelayNanos - (now - waitingSince);
+                if (remaining > 0) {
+                    scheduleDrain(remaining);
+                    return;
+                }
+            }
+            if (size > 0) {
+                int count = Math.min(size, batchSize);
+                List<T> batch = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    batch.add(inbox.poll());
+                }
+                inboxSize.addAndGet(-count);
+                waitingSince = 0;
+                try {
+                    outbox.addAll(process(batch));
+                } catch (GeneralSecurityException | IOException | RuntimeException ex) {
+                    cancelUpstream();
+                    error = ex;
+                    upstreamDone = true;
+                }
+                continue;
+            }
+            if (done) {
+                terminated = true;
+                subscriber.onComplete();
+                return;
+            }
+
+            // 先行して要求できる数まで、上流に追加のデータを要求する
+            Flow.Subscription subscription = upstream.get();
+            if (subscription != null) {
+                long want = prefetch - size - outstanding.get();
+                if (want > 0) {
+                    outstanding.addAndGet(want);
+                    subscription.request(want);
+                }
+            }
+            return;
+        }
+    }
+
+    /**
+     * 指定された時間の経過後に通知処理を実行します。すでに予約されている場合は何もしません。
+     * 
+     * @param delayNanos 待ち時間 (ナノ秒)
+     */
+    private void scheduleDrain(long delayNanos) {
+        if (timerScheduled.compareAndSet(false, true)) {
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+                timerScheduled.set(false);
+                drain();
+            });
+        }
+    }
+
+    /**
+     * 変換していないデータと下流に渡していないデータを破棄します。
+     */
+    private void clear() {
+        inbox.clear();
+        inboxSize.set(0);
+        outbox.clear();
+    }
+}
@@ -0,0 +1,139 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.flow;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.EncryptionOutputDataIO;
+import com.ibm.fincrypto.sample.RSADecryptor;
+import com.ibm.fincrypto.sample.RSAEncryptor;
+import com.ibm.fincrypto.sample.key.KeyInfo;
+
+/**
+ * 暗号化、復号、シリアライズおよびデシリアライズを行う{@link BatchingProcessor}を作成するクラスです。
+ * 各ステージは{@link java.util.concurrent.Flow.Publisher}と{@link java.util.concurrent.Flow.Subscriber}として連結できます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public final class CryptoProcessors {
+
+    /**
+     * インスタンス化を禁止するためのコンストラクタ。
+     */
+    private CryptoProcessors() {
+    }
+
+    /**
+     * 平文の文字列を暗号化するステージを作成します。バッチごとに新しい{@link RSAEncryptor}を使用するため、
+     * AES鍵の生成とRSA公開鍵による暗号化はバッチごとに1回だけ行われます。バッチの処理が終わると、
+     * {@link RSAEncryptor#destroy()}でAES鍵を破棄します。
+     * 
+     * @param keyInfo RSA公開鍵情報
+     * @param batchSize バッチ・サイズ (1つのAES鍵で暗号化する最大のデータ数)
+     * @return 暗号化するステージ
+     * @throws IllegalArgumentException 公開鍵情報に<code>null</code>が指定された場合、もしくはバッチ・サイズが正でない場合
+     * @since 1.10
+     */
+    public static BatchingProcessor<String, EncryptionOutputData> encrypt(final KeyInfo keyInfo, int batchSize)
+            throws IllegalArgumentException {
+        if (keyInfo == null) {
+            throw new IllegalArgumentException("keyInfo must be not null.");
+        }
+        return new BatchingProcessor<String, EncryptionOutputData>(batchSize) {
+            @Override
+            protected List<EncryptionOutputData> process(List<String> batch) throws GeneralSecurityException {
+                RSAEncryptor encryptor = new RSAEncryptor(keyInfo);
+                try {
+                    List<EncryptionOutputData> results = new ArrayList<>(batch.size());
+                    for (String plainText : batch) {
+                        results.add(encryptor.encryptData(plainText, null));
+                    }
+                    return results;
+                } finally {
+                    encryptor.destroy();
+                }
+            }
+        };
+    }
+
+    /**
+     * 暗号化結果データを復号し、UTF-8の文字列にするステージを作成します。
+     * 復号済みのAES鍵は{@link RSADecryptor}にキャッシュされるため、同じバッチのデータのRSA秘密鍵による復号は1回だけ行われます。
+     * 
+     * @param decryptor 復号に使用する{@link RSADecryptor}
+     * @param batchSize バッチ・サイズ
+     * @return 復号するステージ
+     * @throws IllegalArgumentException 復号クラスに<code>null</code>が指定された場合、もしくはバッチ・サイズが正でない場合
+     * @since 1.10
+     */
+    public static BatchingProcessor<EncryptionOutputData, String> decrypt(final RSADecryptor decryptor,
+            int batchSize) throws IllegalArgumentException {
+        if (decryptor == null) {
+            throw new IllegalArgumentException("decryptor must be not null.");
+        }
+        return new BatchingProcessor<EncryptionOutputData, String>(batchSize) {
+            @Override
+            protected List<String> process(List<EncryptionOutputData> batch) throws GeneralSecurityException {
+                List<String> results = new ArrayList<>(batch.size());
+                for (EncryptionOutputData outData : batch) {
+                    results.add(decryptor.decryptData(outData));
+                }
+                return results;
+            }
+        };
+    }
+
+    /**
+     * 暗号化結果データを{@link EncryptionOutputDataIO}の形式のバイト列にするステージを作成します。
+     * 
+     * @return シリアライズするステージ
+     * @since 1.10
+     */
+    public static BatchingProcessor<EncryptionOutputData, byte[]> serialize() {
+        return new BatchingProcessor<EncryptionOutputData, byte[]>(BatchingProcessor.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected List<byte[]> process(List<EncryptionOutputData> batch) {
+                List<byte[]> results = new ArrayList<>(batch.size());
+                for (EncryptionOutputData outData : batch) {
+                    results.add(EncryptionOutputDataIO.toByteArray(outData));
+                }
+                return results;
+            }
+        };
+    }
+
+    /**
+     * {@link EncryptionOutputDataIO}の形式のバイト列を暗号化結果データにするステージを作成します。
+     * 形式が不正なバイト列を受け取った場合は、下流に<code>IOException</code>を通知します。
+     * 
+     * @return デシリアライズするステージ
+     * @since 1.10
+     */
+    public static BatchingProcessor<byte[], EncryptionOutputData> deserialize() {
+        return new BatchingProcessor<byte[], EncryptionOutputData>(BatchingProcessor.DEFAULT_BATCH_SIZE) {
+            @Override
+            protected List<EncryptionOutputData> process(List<byte[]> batch) throws IOException {
+                List<EncryptionOutputData> results = new ArrayList<>(batch.size());
+                for (byte[] bytes : batch) {
+                    results.add(EncryptionOutputDataIO.fromByteArray(bytes));
+                }
+                return results;
+            }
+        };
+    }
+}
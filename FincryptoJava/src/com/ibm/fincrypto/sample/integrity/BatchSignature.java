@@ -0,0 +1,344 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.integrity;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Properties;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.EncryptionOutputDataIO;
+import com.ibm.fincrypto.sample.job.Checkpoint;
+import com.ibm.fincrypto.sample.key.KeyFingerprint;
+import com.ibm.fincrypto.sample.key.KeyInfo;
+import com.ibm.fincrypto.sample.key.KeyStoreKeyInfo;
+
+/**
+ * マークル木の根に対するRSA署名です。データごとに署名する代わりに、根のハッシュ値と葉の数だけにSHA256withRSAで署名します。
+ * <p>
+ * 署名の対象はマジック・ナンバー "FCMT" (4バイト)、形式のバージョン (1バイト)、葉の数 (4バイト)、根のハッシュ値 (32バイト) です。
+ * 個々のデータを検証する場合は、{@link #verify(KeyInfo)}で署名を一度だけ検証した後に{@link #contains(EncryptionOutputData, InclusionProof)}
+ * で包含証明を検証します。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public final class BatchSignature {
+
+    /**
+     * 署名アルゴリズム
+     */
+    public static final String ALGORITHM = "SHA256withRSA";
+    /**
+     * 署名対象のマジック・ナンバー ("FCMT")
+     */
+    private static final int MAGIC = 0x46434d54;
+    /**
+     * 署名対象の形式のバージョン
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * 根のハッシュ値
+     */
+    private final byte[] root;
+    /**
+     * 葉の数
+     */
+    private final int leafCount;
+    /**
+     * 署名に使用したRSA鍵の鍵ID
+     */
+    private final byte[] keyId;
+    /**
+     * 署名
+     */
+    private final byte[] signature;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param root 根のハッシュ値
+     * @param leafCount 葉の数
+     * @param keyId 署名に使用したRSA鍵の鍵ID
+     * @param signature 署名
+     */
+    private BatchSignature(byte[] root, int leafCount, byte[] keyId, byte[] signature) {
+        this.root = root;
+        this.leafCount = leafCount;
+        this.keyId = keyId;
+        this.signature = signature;
+    }
+
+    /**
+     * マークル木の根に署名します。
+     * 
+     * @param tree マークル木
+     * @param keyInfo 署名に使用するRSA秘密鍵に対応するRSA公開鍵情報 (鍵IDの計算に使用する)
+     * @param privateKey RSA秘密鍵
+     * @return 署名
+     * @throws GeneralSecurityException 署名の処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public static BatchSignature sign(MerkleTree tree, KeyInfo keyInfo, PrivateKey privateKey)
+            throws GeneralSecurityException {
+        byte[] root = tree.getRoot();
+        Signature signer = Signature.getInstance(ALGORITHM);
+        signer.initSign(privateKey);
+        signer.update(signedContent(root, tree.size()));
+        return new BatchSignature(root, tree.size(), KeyFingerprint.of(keyInfo), signer.sign());
+    }
+
+    /**
+     * キーストアの鍵ペアでマークル木の根に署名します。
+     * 
+     * @param tree マークル木
+     * @param keyInfo キーストアに格納されたRSA鍵ペア
+     * @param keyPassword 秘密鍵を保護するパスワード
+     * @return 署名
+     * @throws GeneralSecurityException キーストアの処理もしくは署名の処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public static BatchSignature sign(MerkleTree tree, KeyStoreKeyInfo keyInfo, String keyPassword)
+            throws GeneralSecurityException {
+        return sign(tree, keyInfo, keyInfo.getPrivateKey(keyPassword));
+    }
+
+    /**
+     * 署名の対象となるバイト列を返します。
+     * 
+     * @param root 根のハッシュ値
+     * @param leafCount 葉の数
+     * @return 署名の対象
+     */
+    private static byte[] signedContent(byte[] root, int leafCount) {
+        return ByteBuffer.allocate(9 + root.length).putInt(MAGIC).put(VERSION).putInt(leafCount).put(root).array();
+    }
+
+    /**
+     * 根のハッシュ値を返します。
+     * 
+     * @return 根のハッシュ値
+     * @since 1.10
+     */
+    public byte[] getRoot() {
+        return root.clone();
+    }
+
+    /**
+     * 葉の数を返します。
+     * 
+     * @return 葉の数
+     * @since 1.10
+     */
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    /**
+     * 署名に使用したRSA鍵の鍵IDを返します。
+     * 
+     * @return 鍵ID
+     * @since 1.10
+     */
+    public byte[] getKeyId() {
+        return keyId.clone();
+    }
+
+    /**
+     * RSA公開鍵で署名を検証します。公開鍵の鍵IDが署名の鍵IDと一致しない場合は検証に失敗します。
+     * 
+     * @param keyInfo RSA公開鍵情報
+     * @return 署名が正しい場合は<code>true</code>
+     * @throws GeneralSecurityException 公開鍵の取得もしくは署名の処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public boolean verify(KeyInfo keyInfo) throws GeneralSecurityException {
+        if (!MessageDigest.isEqual(keyId, KeyFingerprint.of(keyInfo))) {
+            return false;
+        }
+        Signature verifier = Signature.getInstance(ALGORITHM);
+        verifier.initVerify(keyInfo.getPublicKey());
+        verifier.update(signedContent(root, leafCount));
+        return verifier.verify(signature);
+    }
+
+    /**
+     * 暗号化結果データが署名された木に含まれるかどうかを包含証明で検証します。署名そのものは検証しないため、
+     * 事前に{@link #verify(KeyInfo)}で署名を検証しておく必要があります。
+     * 
+     * @param record 暗号化結果データ
+     * @param proof 包含証明
+     * @return 含まれる場合は<code>true</code>
+     * @throws GeneralSecurityException ハッシュ値の計算で例外がスローされた場合
+     * @since 1.10
+     */
+    public boolean contains(EncryptionOutputData record, InclusionProof proof) throws GeneralSecurityException {
+        return proof.getLeafCount() == leafCount && proof.verify(record, root);
+    }
+
+    /**
+     * 署名と包含証明の両方を検証します。
+     * 
+     * @param record 暗号化結果データ
+     * @param proof 包含証明
+     * @param keyInfo RSA公開鍵情報
+     * @return 署名が正しく、データが署名された木に含まれる場合は<code>true</code>
+     * @throws GeneralSecurityException 公開鍵の取得、署名の処理もしくはハッシュ値の計算で例外がスローされた場合
+     * @since 1.10
+     */
+    public boolean verify(EncryptionOutputData record, InclusionProof proof, KeyInfo keyInfo)
+            throws GeneralSecurityException {
+        return contains(record, proof) && verify(keyInfo);
+    }
+
+    /**
+     * 署名をプロパティー形式で保存します。{@link Checkpoint}と同じく、一時ファイルへの書き込みとアトミックなリネームで保存します。
+     * 
+     * @param file 署名のファイル
+     * @throws IOException ファイルの出力で例外がスローされた場合
+     * @since 1.10
+     */
+    public void save(Path file) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("algorithm", ALGORITHM);
+        props.setProperty("records", Integer.toString(leafCount));
+        props.setProperty("root", Base64.getEncoder().encodeToString(root));
+        props.setProperty("keyId", KeyFingerprint.toHexString(keyId));
+        props.setProperty("signature", Base64.getEncoder().encodeToString(signature));
+        new Checkpoint(file).save(props);
+    }
+
+    /**
+     * プロパティー形式で保存された署名を読み込みます。
+     * 
+     * @param file 署名のファイル
+     * @return 署名
+     * @throws IOException ファイルの入力で例外がスローされた場合、もしくはファイルの内容が不正な場合
+     * @since 1.10
+     */
+    public static BatchSignature load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            throw new IOException("signature not found: " + file);
+        }
+        Properties props = new Checkpoint(file).load();
+        if (!ALGORITHM.equals(props.getProperty("algorithm"))) {
+            throw new IOException("unsupported signature algorithm: " + props.getProperty("algorithm"));
+        }
+        String keyId = props.getProperty("keyId");
+        if (props.getProperty("records") == null || props.getProperty("root") == null || keyId == null
+                || keyId.length() % 2 != 0 || props.getProperty("signature") == null) {
+            throw new IOException("corrupted signature: " + file);
+        }
+        try {
+            byte[] keyIdBytes = new byte[keyId.length() / 2];
+            for (int i = 0; i < keyIdBytes.length; i++) {
+                keyIdBytes[i] = (byte) Integer.parseInt(keyId.substring(i * 2, i * 2 + 2), 16);
+            }
+            return new BatchSignature(Base64.getDecoder().decode(props.getProperty("root")),
+                    Integer.parseInt(props.getProperty("records")), keyIdBytes,
+                    Base64.getDecoder().decode(props.getProperty("signature")));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatExceptionもここで処理する
+            throw new IOException("corrupted signature: " + file, e);
+        }
+    }
+
+    /**
+     * {@link EncryptionOutputDataIO}の形式のファイルからすべての暗号化結果データを読み込みます。
+     * 
+     * @param file ファイル
+     * @return 暗号化結果データの一覧
+     * @throws IOException ファイルの入力で例外がスローされた場合
+     */
+    private static List<EncryptionOutputData> readRecords(Path file) throws IOException {
+        List<EncryptionOutputData> records = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            EncryptionOutputData record;
+            while ((record = EncryptionOutputDataIO.read(in)) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * メイン関数。以下の引数で{@link EncryptionOutputDataIO}の形式のファイルに署名するか、1件のデータを検証します。
+     * キーストアのパスワードと (署名の場合は) 秘密鍵のパスワードは、コマンドラインに残らないように標準入力から1行ずつ読み込みます。
+     * <pre>
+     * BatchSignature sign 入力ファイル 署名ファイル キーストア 別名 [キーストアのタイプ]
+     * BatchSignature verify 入力ファイル 署名ファイル データの番号 キーストア 別名 [キーストアのタイプ]
+     * </pre>
+     * 
+     * @param args コマンドライン引数
+     * @throws Exception 署名もしくは検証の処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws Exception {
+        boolean sign = args.length >= 5 && "sign".equals(args[0]);
+        boolean verify = args.length >= 6 && "verify".equals(args[0]);
+        if (!sign && !verify) {
+            System.err.println("usage: BatchSignature sign INPUT SIGNATURE KEYSTORE ALIAS [STORE_TYPE]"
+                    + " (STORE_PASSWORD and KEY_PASSWORD are read from the standard input)");
+            System.err.println("       BatchSignature verify INPUT SIGNATURE INDEX KEYSTORE ALIAS [STORE_TYPE]"
+                    + " (STORE_PASSWORD is read from the standard input)");
+            System.exit(2);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String storePassword = reader.readLine();
+        String keyPassword = sign ? reader.readLine() : null;
+        if (storePassword == null || (sign && keyPassword == null)) {
+            System.err.println(sign ? "STORE_PASSWORD and KEY_PASSWORD must be given in the standard input."
+                    : "STORE_PASSWORD must be given in the standard input.");
+            System.exit(2);
+        }
+        List<EncryptionOutputData> records = readRecords(Paths.get(args[1]));
+        MerkleTree tree = MerkleTree.of(records);
+        long start = System.nanoTime();
+        if (sign) {
+            String keyStoreType = args.length > 5 ? args[5] : "JCEKS";
+            KeyStoreKeyInfo keyInfo = new KeyStoreKeyInfo(args[4], keyStoreType, args[3], storePassword);
+            BatchSignature signature = sign(tree, keyInfo, keyPassword);
+            signature.save(Paths.get(args[2]));
+            System.out.println("records = " + tree.size() + ", root = " + KeyFingerprint.toHexString(tree.getRoot())
+                    + ", elapsed = " + (System.nanoTime() - start) / 1000000 + "ms");
+        } else {
+            String keyStoreType = args.length > 6 ? args[6] : "JCEKS";
+            KeyStoreKeyInfo keyInfo = new KeyStoreKeyInfo(args[5], keyStoreType, args[4], storePassword);
+            int index = Integer.parseInt(args[3]);
+            InclusionProof proof = tree.getProof(index);
+            BatchSignature signature = load(Paths.get(args[2]));
+            boolean valid = signature.verify(records.get(index), proof, keyInfo);
+            System.out.println("record = " + index + ", proof = " + proof.toByteArray().length + " bytes, valid = "
+                    + valid + ", elapsed = " + (System.nanoTime() - start) / 1000000 + "ms");
+            if (!valid) {
+                System.exit(1);
+            }
+        }
+    }
+}
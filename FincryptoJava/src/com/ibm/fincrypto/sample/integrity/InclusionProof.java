@@ -0,0 +1,185 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.integrity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+
+/**
+ * マークル木の1つの葉が根に含まれることを示す包含証明です。葉の番号と葉の数から各段で左右のどちらに兄弟があるかが決まるため、
+ * 証明には兄弟のハッシュ値だけを保持します。バイト列に変換した場合の構成は以下の通りで、100万件のデータでも約650バイトです。
+ * <ul>
+ * <li>葉の番号 (4バイト)
+ * <li>葉の数 (4バイト)
+ * <li>兄弟のハッシュ値の数 (1バイト) とその値 (それぞれ32バイト)
+ * </ul>
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public final class InclusionProof {
+
+    /**
+     * ハッシュ値のバイト数
+     */
+    private static final int HASH_LENGTH = 32;
+
+    /**
+     * 葉の番号
+     */
+    private final int index;
+    /**
+     * 葉の数
+     */
+    private final int leafCount;
+    /**
+     * 葉から根に向かう順の兄弟のハッシュ値
+     */
+    private final byte[][] siblings;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param index 葉の番号
+     * @param leafCount 葉の数
+     * @param siblings 葉から根に向かう順の兄弟のハッシュ値
+     */
+    InclusionProof(int index, int leafCount, byte[][] siblings) {
+        this.index = index;
+        this.leafCount = leafCount;
+        this.siblings = siblings;
+    }
+
+    /**
+     * 葉の番号を返します。
+     * 
+     * @return 0から始まる番号
+     * @since 1.10
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * 木の葉の数を返します。
+     * 
+     * @return 葉の数
+     * @since 1.10
+     */
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    /**
+     * 葉のハッシュ値と兄弟のハッシュ値から根のハッシュ値を計算します。
+     * 
+     * @param leafHash 葉のハッシュ値
+     * @return 根のハッシュ値。証明の形が葉の番号と葉の数に合わない場合は<code>null</code>
+     * @throws GeneralSecurityException ハッシュ値の計算で例外がスローされた場合
+     * @since 1.10
+     */
+    public byte[] computeRoot(byte[] leafHash) throws GeneralSecurityException {
+        if (index < 0 || index >= leafCount) {
+            return null;
+        }
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        byte[] hash = leafHash;
+        int position = index;
+        int width = leafCount;
+        int used = 0;
+        while (width > 1) {
+            if ((position ^ 1) < width) {
+                if (used == siblings.length) {
+                    return null;
+                }
+                byte[] sibling = siblings[used++];
+                hash = (position & 1) == 0 ? MerkleTree.nodeHash(md, hash, sibling)
+                        : MerkleTree.nodeHash(md, sibling, hash);
+            }
+            position >>>= 1;
+            width = (width + 1) >>> 1;
+        }
+        return used == siblings.length ? hash : null;
+    }
+
+    /**
+     * 暗号化結果データがこの証明の葉として指定された根に含まれるかどうかを検証します。
+     * 
+     * @param record 暗号化結果データ
+     * @param root 根のハッシュ値
+     * @return 含まれる場合は<code>true</code>
+     * @throws GeneralSecurityException ハッシュ値の計算で例外がスローされた場合
+     * @since 1.10
+     */
+    public boolean verify(EncryptionOutputData record, byte[] root) throws GeneralSecurityException {
+        byte[] computed = computeRoot(MerkleTree.leafHash(record));
+        return computed != null && MessageDigest.isEqual(computed, root);
+    }
+
+    /**
+     * 包含証明をバイト列に変換します。
+     * 
+     * @return バイト列
+     * @since 1.10
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(9 + siblings.length * HASH_LENGTH);
+        try {
+            DataOutputStream out = new DataOutputStream(bos);
+            out.writeInt(index);
+            out.writeInt(leafCount);
+            out.writeByte(siblings.length);
+            for (byte[] sibling : siblings) {
+                out.write(sibling);
+            }
+        } catch (IOException e) {
+            // ByteArrayOutputStreamへの書き込みでは発生しない
+            throw new IllegalStateException(e);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * バイト列を包含証明に変換します。
+     * 
+     * @param bytes バイト列
+     * @return 包含証明
+     * @throws IOException バイト列の形式が不正な場合
+     * @since 1.10
+     */
+    public static InclusionProof fromByteArray(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        try {
+            int index = in.readInt();
+            int leafCount = in.readInt();
+            byte[][] siblings = new byte[in.readUnsignedByte()][HASH_LENGTH];
+            for (byte[] sibling : siblings) {
+                in.readFully(sibling);
+            }
+            if (in.available() != 0) {
+                throw new IOException("corrupted inclusion proof.");
+            }
+            return new InclusionProof(index, leafCount, siblings);
+        } catch (EOFException e) {
+            throw new IOException("truncated inclusion proof.", e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.integrity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+
+/**
+ * 暗号化結果データの集合から作成するSHA-256のマークル木です。
+ * <p>
+ * 葉のハッシュ値はSHA-256(0x00 || 暗号化結果データの各項目)、節のハッシュ値はSHA-256(0x01 || 左の子 || 右の子)で、
+ * 接頭辞によって葉と節を区別します。ある段の節の数が奇数の場合、最後の節はハッシュ計算を行わずにそのまま1つ上の段に昇格させます。
+ * 根のハッシュ値だけに署名すれば ({@link BatchSignature})、個々のデータは{@link InclusionProof}を使ってO(log n)で検証できます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class MerkleTree {
+
+    /**
+     * 葉のハッシュ値の接頭辞
+     */
+    private static final byte LEAF_PREFIX = 0x00;
+    /**
+     * 節のハッシュ値の接頭辞
+     */
+    private static final byte NODE_PREFIX = 0x01;
+
+    /**
+     * 各段のハッシュ値 (0番目が葉、最後が根)
+     */
+    private final List<byte[][]> levels;
+
+    /**
+     * コンストラクタ。葉のハッシュ値から木を作成します。
+     * 
+     * @param leafHashes 葉のハッシュ値 (データの順)
+     * @throws IllegalArgumentException 葉の一覧に<code>null</code>もしくは空の一覧が指定された場合
+     * @throws GeneralSecurityException ハッシュ値の計算で例外がスローされた場合
+     * @since 1.10
+     */
+    public MerkleTree(List<byte[]> leafHashes) throws IllegalArgumentException, GeneralSecurityException {
+        if (leafHashes == null || leafHashes.isEmpty()) {
+            throw new IllegalArgumentException("leafHashes must have one and more elements.");
+        }
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        levels = new ArrayList<>();
+        byte[][] level = leafHashes.toArray(new byte[leafHashes.size()][]);
+        levels.add(level);
+        while (level.length > 1) {
+            byte[][] parent = new byte[(level.length + 1) / 2][];
+            for (int i = 0; i < parent.length; i++) {
+                int left = i * 2;
+                parent[i] = left + 1 < level.length ? nodeHash(md, level[left], level[left + 1]) : level[left];
+            }
+            levels.add(parent);
+            level = parent;
+        }
+    }
+
+    /**
+     * 暗号化結果データの一覧から木を作成します。
+     * 
+     * @param records 暗号化結果データの一覧 (データの順)
+     * @return マークル木
+     * @throws IllegalArgumentException 暗号化結果データの一覧に<code>null</code>もしくは空の一覧が指定された場合
+     * @throws GeneralSecurityException ハッシュ値の計算で例外がスローされた場合
+     * @since 1.10
+     */
+    public static MerkleTree of(List<EncryptionOutputData> records)
+            throws IllegalArgumentException, GeneralSecurityException {
+        if (records == null) {
+            throw new IllegalArgumentException("records must be not null.");
+        }
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        List<byte[]> leafHashes = new ArrayList<>(records.size());
+        for (EncryptionOutputData record : records) {
+            leafHashes.add(leafHash(md, record));
+        }
+        return new MerkleTree(leafHashes);
+    }
+
+    /**
+     * 暗号化結果データの葉のハッシュ値を返します。初期化ベクトル、暗号化されたデータ、暗号化されたAES鍵、鍵ID、圧縮方式の名前を
+     * それぞれ長さ (4バイト、値がない場合は-1) に続けて連結したものをハッシュ計算の対象とします。
+     * 
+     * @param record 暗号化結果データ
+     * @return 葉のハッシュ値 (32バイト)
+     * @throws GeneralSecurityException ハッシュ値の計算で例外がスローされた場合
+     * @since 1.10
+     */
+    public static byte[] leafHash(EncryptionOutputData record) throws GeneralSecurityException {
+        return leafHash(MessageDigest.getInstance("SHA-256"), record);
+    }
+
+    /**
+     * 暗号化結果データの葉のハッシュ値を計算します。
+     * 
+     * @param md SHA-256のメッセージ・ダイジェスト
+     * @param record 暗号化結果データ
+     * @return 葉のハッシュ値
+     */
+    private static byte[] leafHash(MessageDigest md, EncryptionOutputData record) {
+        md.update(LEAF_PREFIX);
+        updateField(md, record.getInitialVector());
+        updateField(md, record.getCipherText());
+        updateField(md, record.getEncryptedKey());
+        updateField(md, record.getKeyId());
+        updateField(md, record.getCompression() == null ? null
+                : record.getCompression().getBytes(StandardCharsets.UTF_8));
+        return md.digest();
+    }
+
+    /**
+     * 長さを付けて1つの項目をメッセージ・ダイジェストに追加します。
+     * 
+     * @param md メッセージ・ダイジェスト
+     * @param value 項目の値 (<code>null</code>の場合は長さ-1のみを追加する)
+     */
+    private static void updateField(MessageDigest md, byte[] value) {
+        int length = value == null ? -1 : value.length;
+        md.update((byte) (length >>> 24));
+        md.update((byte) (length >>> 16));
+        md.update((byte) (length >>> 8));
+        md.update((byte) length);
+        if (value != null) {
+            md.update(value);
+        }
+    }
+
+    /**
+     * 節のハッシュ値を計算します。
+     * 
+     * @param md SHA-256のメッセージ・ダイジェスト
+     * @param left 左の子のハッシュ値
+     * @param right 右の子のハッシュ値
+     * @return 節のハッシュ値
+     */
+    static byte[] nodeHash(MessageDigest md, byte[] left, byte[] right) {
+        md.update(NODE_PREFIX);
+        md.update(left);
+        md.update(right);
+        return md.digest();
+    }
+
+    /**
+     * 根のハッシュ値を返します。
+     * 
+     * @return 根のハッシュ値 (32バイト)
+     * @since 1.10
+     */
+    public byte[] getRoot() {
+        return levels.get(levels.size() - 1)[0].clone();
+    }
+
+    /**
+     * 葉の数を返します。
+     * 
+     * @return 葉の数
+     * @since 1.10
+     */
+    public int size() {
+        return levels.get(0).length;
+    }
+
+    /**
+     * 指定された葉の包含証明を返します。包含証明には葉から根までの各段で兄弟となる節のハッシュ値が含まれます。
+     * 
+     * @param index 葉の番号 (0から始まる)
+     * @return 包含証明
+     * @throws IllegalArgumentException 葉の番号が範囲外の場合
+     * @since 1.10
+     */
+    public InclusionProof getProof(int index) throws IllegalArgumentException {
+        if (index < 0 || index >= size()) {
+            throw new IllegalArgumentException("index is out of range: " + index);
+        }
+        List<byte[]> siblings = new ArrayList<>();
+        int position = index;
+        for (int i = 0; i < levels.size() - 1; i++) {
+            byte[][] level = levels.get(i);
+            int sibling = position ^ 1;
+            // 兄弟がない最後の節はそのまま昇格しているので証明に含めない
+            if (sibling < level.length) {
+                siblings.add(level[sibling]);
+            }
+            position >>>= 1;
+        }
+        return new InclusionProof(index, size(), siblings.toArray(new byte[siblings.size()][]));
+    }
+}
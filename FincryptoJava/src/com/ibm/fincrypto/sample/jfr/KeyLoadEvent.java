@@ -0,0 +1,78 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * 鍵の読み込みを記録するJFRイベントです。キーストアの読み込みや鍵の仕様からの復元にかかった時間を記録します。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+@Name("com.ibm.fincrypto.KeyLoad")
+@Label("Key Load")
+@Category("Fincrypto")
+@Description("Loading of an RSA key from a key store or an encoded key specification")
+public class KeyLoadEvent extends Event {
+
+    /**
+     * 鍵の入力元の種類
+     */
+    @Label("Source Type")
+    private String sourceType;
+    /**
+     * 鍵の種類 (public もしくは private)
+     */
+    @Label("Key Type")
+    private String keyType;
+    /**
+     * 鍵の入力元 (ファイルのパスや別名)
+     */
+    @Label("Source")
+    private String source;
+
+    /**
+     * 鍵の入力元の種類を設定します。
+     * 
+     * @param sourceType 鍵の入力元の種類
+     * @since 1.10
+     */
+    public void setSourceType(String sourceType) {
+        this.sourceType = sourceType;
+    }
+
+    /**
+     * 鍵の種類を設定します。
+     * 
+     * @param keyType 鍵の種類 (public もしくは private)
+     * @since 1.10
+     */
+    public void setKeyType(String keyType) {
+        this.keyType = keyType;
+    }
+
+    /**
+     * 鍵の入力元を設定します。
+     * 
+     * @param source 鍵の入力元 (ファイルのパスや別名)
+     * @since 1.10
+     */
+    public void setSource(String source) {
+        this.source = source;
+    }
+}
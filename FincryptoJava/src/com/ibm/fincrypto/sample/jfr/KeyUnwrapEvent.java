@@ -0,0 +1,82 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * RSA秘密鍵によるAES鍵の復号を記録するJFRイベントです。キャッシュから取得した場合は記録しません。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+@Name("com.ibm.fincrypto.KeyUnwrap")
+@Label("Key Unwrap")
+@Category("Fincrypto")
+@Description("Decryption of a session key with an RSA private key")
+@StackTrace(false)
+public class KeyUnwrapEvent extends Event {
+
+    /**
+     * 復号のアルゴリズム
+     */
+    @Label("Algorithm")
+    private String algorithm;
+    /**
+     * RSA公開鍵の鍵ID (16進数文字列)
+     */
+    @Label("Key ID")
+    private String keyId;
+    /**
+     * 暗号化されたAES鍵のバイト数
+     */
+    @Label("Wrapped Length")
+    @DataAmount
+    private int wrappedLength;
+
+    /**
+     * 復号のアルゴリズムを設定します。
+     * 
+     * @param algorithm 復号のアルゴリズム
+     * @since 1.10
+     */
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * RSA公開鍵の鍵IDを設定します。
+     * 
+     * @param keyId RSA公開鍵の鍵ID (16進数文字列)
+     * @since 1.10
+     */
+    public void setKeyId(String keyId) {
+        this.keyId = keyId;
+    }
+
+    /**
+     * 暗号化されたAES鍵のバイト数を設定します。
+     * 
+     * @param wrappedLength 暗号化されたAES鍵のバイト数
+     * @since 1.10
+     */
+    public void setWrappedLength(int wrappedLength) {
+        this.wrappedLength = wrappedLength;
+    }
+}
@@ -0,0 +1,65 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * AES鍵 (セッション鍵) の生成を記録するJFRイベントです。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+@Name("com.ibm.fincrypto.SessionKeyGeneration")
+@Label("Session Key Generation")
+@Category("Fincrypto")
+@Description("Generation of a symmetric session key")
+@StackTrace(false)
+public class SessionKeyGenerationEvent extends Event {
+
+    /**
+     * 鍵のアルゴリズム
+     */
+    @Label("Algorithm")
+    private String algorithm;
+    /**
+     * 鍵長 (ビット)
+     */
+    @Label("Key Length")
+    private int keyLength;
+
+    /**
+     * 鍵のアルゴリズムを設定します。
+     * 
+     * @param algorithm 鍵のアルゴリズム
+     * @since 1.10
+     */
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * 鍵長を設定します。
+     * 
+     * @param keyLength 鍵長 (ビット)
+     * @since 1.10
+     */
+    public void setKeyLength(int keyLength) {
+        this.keyLength = keyLength;
+    }
+}
@@ -0,0 +1,113 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * AES鍵によるデータの暗号化もしくは復号を記録するJFRイベントです。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+@Name("com.ibm.fincrypto.SymmetricCipher")
+@Label("Symmetric Cipher")
+@Category("Fincrypto")
+@Description("Encryption or decryption of data with a symmetric session key")
+@StackTrace(false)
+public class SymmetricCipherEvent extends Event {
+
+    /**
+     * 操作の種類 (encrypt もしくは decrypt)
+     */
+    @Label("Operation")
+    private String operation;
+    /**
+     * 暗号化のアルゴリズム
+     */
+    @Label("Algorithm")
+    private String algorithm;
+    /**
+     * 圧縮方式 (圧縮しない場合はnull)
+     */
+    @Label("Compression")
+    private String compression;
+    /**
+     * 入力のバイト数
+     */
+    @Label("Input Bytes")
+    @DataAmount
+    private long inputBytes;
+    /**
+     * 出力のバイト数
+     */
+    @Label("Output Bytes")
+    @DataAmount
+    private long outputBytes;
+
+    /**
+     * 操作の種類を設定します。
+     * 
+     * @param operation 操作の種類 (encrypt もしくは decrypt)
+     * @since 1.10
+     */
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * 暗号化のアルゴリズムを設定します。
+     * 
+     * @param algorithm 暗号化のアルゴリズム
+     * @since 1.10
+     */
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * 圧縮方式を設定します。
+     * 
+     * @param compression 圧縮方式 (圧縮しない場合はnull)
+     * @since 1.10
+     */
+    public void setCompression(String compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * 入力のバイト数を設定します。
+     * 
+     * @param inputBytes 入力のバイト数
+     * @since 1.10
+     */
+    public void setInputBytes(long inputBytes) {
+        this.inputBytes = inputBytes;
+    }
+
+    /**
+     * 出力のバイト数を設定します。
+     * 
+     * @param outputBytes 出力のバイト数
+     * @since 1.10
+     */
+    public void setOutputBytes(long outputBytes) {
+        this.outputBytes = outputBytes;
+    }
+}
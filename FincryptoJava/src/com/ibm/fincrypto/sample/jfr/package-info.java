@@ -0,0 +1,27 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+
+/**
+ * 暗号化、復号および鍵の読み込みを記録するJava Flight Recorder (JFR) のイベントを提供します。
+ * <p>
+ * 記録が無効の場合、イベントのオブジェクトは通常JITコンパイラーのエスケープ解析により除去されるため、ほとんど負荷がかかりません。
+ * プロジェクトのルートにある <code>fincrypto.jfc</code> は、これらのイベントを有効にするJFRの設定ファイルです。
+ * JDKの標準の設定と組み合わせて、以下のように指定します。
+ * <pre>
+ * java -XX:StartFlightRecording=settings=default,settings=fincrypto.jfc,filename=fincrypto.jfr ...
+ * </pre>
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+package com.ibm.fincrypto.sample.jfr;
\ No newline at end of file
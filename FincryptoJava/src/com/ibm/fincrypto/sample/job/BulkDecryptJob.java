@@ -0,0 +1,133 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.job;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.util.List;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.EncryptionOutputDataIO;
+import com.ibm.fincrypto.sample.RSADecryptor;
+import com.ibm.fincrypto.sample.key.KeyStoreKeyInfo;
+
+/**
+ * {@link BulkEncryptJob}の出力を復号するジョブです。{@link EncryptionOutputDataIO}の形式の暗号化結果データを連続して書き込んだ
+ * ファイルを読み込み、復号した平文を1行に1件ずつ出力します。
+ * <p>
+ * バッチ内のデータは{@link RSADecryptor#decryptAll(java.util.Collection)}で並列に復号します。
+ * 復号済みのAES鍵は{@link RSADecryptor}にキャッシュされるため、RSA秘密鍵による復号はAES鍵ごとに1回だけ行われます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class BulkDecryptJob extends BulkJob<EncryptionOutputData, byte[]> {
+
+    /**
+     * 復号するクラス
+     */
+    private final RSADecryptor decryptor;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param decryptor 復号に使用する{@link RSADecryptor}
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public BulkDecryptJob(RSADecryptor decryptor) throws IllegalArgumentException {
+        if (decryptor == null) {
+            throw new IllegalArgumentException("decryptor must be not null.");
+        }
+        this.decryptor = decryptor;
+    }
+
+    /**
+     * 入力ファイルから1件の暗号化結果データを読み込みます。
+     * 
+     * @param in 入力ストリーム
+     * @return 暗号化結果データ。ファイルの終わりに達した場合は<code>null</code>
+     * @throws IOException ファイルの入力で例外がスローされた場合、もしくはデータの形式が不正な場合
+     * @since 1.10
+     */
+    @Override
+    protected EncryptionOutputData read(DataInputStream in) throws IOException {
+        return EncryptionOutputDataIO.read(in);
+    }
+
+    /**
+     * バッチ内の暗号化結果データを並列に復号します。
+     * 
+     * @param batch 暗号化結果データのバッチ
+     * @return 復号されたバイト列
+     * @throws GeneralSecurityException 復号処理で例外がスローされた場合
+     * @since 1.10
+     */
+    @Override
+    protected List<byte[]> process(List<EncryptionOutputData> batch) throws GeneralSecurityException {
+        return decryptor.decryptAll(batch);
+    }
+
+    /**
+     * 出力ファイルに復号されたデータを1行として書き込みます。
+     * 
+     * @param out 出力ストリーム
+     * @param result 復号されたバイト列
+     * @throws IOException ファイルの出力で例外がスローされた場合
+     * @since 1.10
+     */
+    @Override
+    protected void write(DataOutputStream out, byte[] result) throws IOException {
+        out.write(result);
+        out.write('\n');
+    }
+
+    /**
+     * メイン関数。以下の引数でジョブを実行します。
+     * キーストアのパスワードと秘密鍵のパスワードは、コマンドラインに残らないように標準入力から1行ずつ読み込みます。
+     * <pre>
+     * BulkDecryptJob 入力ファイル 出力ファイル チェックポイント・ファイル キーストア 別名 [キーストアのタイプ]
+     * </pre>
+     * 
+     * @param args コマンドライン引数
+     * @throws Exception ジョブの実行で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("usage: BulkDecryptJob INPUT OUTPUT CHECKPOINT KEYSTORE ALIAS [STORE_TYPE]"
+                    + " (STORE_PASSWORD and KEY_PASSWORD are read from the standard input)");
+            System.exit(2);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String storePassword = reader.readLine();
+        String keyPassword = reader.readLine();
+        if (storePassword == null || keyPassword == null) {
+            System.err.println("STORE_PASSWORD and KEY_PASSWORD must be given in the standard input.");
+            System.exit(2);
+        }
+        String keyStoreType = args.length > 5 ? args[5] : "JCEKS";
+        KeyStoreKeyInfo keyInfo = new KeyStoreKeyInfo(args[4], keyStoreType, args[3], storePassword);
+        BulkDecryptJob job = new BulkDecryptJob(new RSADecryptor(keyInfo, keyPassword));
+        long start = System.nanoTime();
+        job.run(Paths.get(args[0]), Paths.get(args[1]), Paths.get(args[2]));
+        System.out.println("records = " + job.getRecordCount() + ", elapsed = "
+                + (System.nanoTime() - start) / 1000000 + "ms");
+    }
+}
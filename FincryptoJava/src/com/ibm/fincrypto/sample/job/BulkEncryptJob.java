@@ -0,0 +1,209 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.job;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.EncryptionOutputDataIO;
+import com.ibm.fincrypto.sample.RSAEncryptor;
+import com.ibm.fincrypto.sample.UncheckedSecurityException;
+import com.ibm.fincrypto.sample.key.KeyInfo;
+import com.ibm.fincrypto.sample.key.PKCS8KeyInfo;
+
+/**
+ * 平文のファイルを1行ずつ暗号化するジョブです。入力はUTF-8で1行に1件の平文を書き込んだファイルで、
+ * {@link EncryptionOutputDataIO}の形式で暗号化結果データを連続して出力します。
+ * <p>
+ * 1つのAES鍵で{@link #setRecordsPerSessionKey(long)}で指定した件数まで暗号化し、バッチの境界で新しいAES鍵に切り替えます。
+ * チェックポイントには入出力の位置のみを記録します。AES鍵はRSA秘密鍵がなければ復元できないため、
+ * 再開時は新しいAES鍵で暗号化を続けます。
+ * チェックポイントまでに出力されたデータはそれぞれ暗号化されたAES鍵を持つため、そのまま復号できます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class BulkEncryptJob extends BulkJob<String, EncryptionOutputData> {
+
+    /**
+     * 1つのAES鍵で暗号化する件数のデフォルト値
+     */
+    public static final long DEFAULT_RECORDS_PER_SESSION_KEY = 1000000;
+
+    /**
+     * RSA公開鍵情報
+     */
+    private final KeyInfo keyInfo;
+    /**
+     * 1つのAES鍵で暗号化する件数
+     */
+    private long recordsPerSessionKey = DEFAULT_RECORDS_PER_SESSION_KEY;
+    /**
+     * 使用中のAES鍵で暗号化するクラス
+     */
+    private RSAEncryptor encryptor = null;
+    /**
+     * 使用中のAES鍵で暗号化した件数
+     */
+    private long sessionKeyRecords = 0;
+    /**
+     * 今回の実行で生成したAES鍵の数
+     */
+    private long sessionKeyCount = 0;
+    /**
+     * 1行を読み込むためのバッファ
+     */
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param keyInfo RSA公開鍵情報
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public BulkEncryptJob(KeyInfo keyInfo) throws IllegalArgumentException {
+        if (keyInfo == null) {
+            throw new IllegalArgumentException("keyInfo must be not null.");
+        }
+        this.keyInfo = keyInfo;
+    }
+
+    /**
+     * 1つのAES鍵で暗号化する件数を設定します。AES鍵はバッチの境界で切り替えるため、実際の件数はバッチの件数の倍数に切り上げられます。
+     * 
+     * @param recordsPerSessionKey 件数
+     * @throws IllegalArgumentException 正でない値が指定された場合
+     * @since 1.10
+     */
+    public void setRecordsPerSessionKey(long recordsPerSessionKey) throws IllegalArgumentException {
+        if (recordsPerSessionKey <= 0) {
+            throw new IllegalArgumentException("recordsPerSessionKey must be positive.");
+        }
+        this.recordsPerSessionKey = recordsPerSessionKey;
+    }
+
+    /**
+     * 今回の実行で生成したAES鍵の数を返します。
+     * 
+     * @return AES鍵の数
+     * @since 1.10
+     */
+    public long getSessionKeyCount() {
+        return sessionKeyCount;
+    }
+
+    /**
+     * 入力ファイルから1行を読み込みます。行末の改行(LFもしくはCRLF)は含みません。
+     * 
+     * @param in 入力ストリーム
+     * @return 平文。ファイルの終わりに達した場合は<code>null</code>
+     * @throws IOException ファイルの入力で例外がスローされた場合、もしくは空の行がある場合
+     * @since 1.10
+     */
+    @Override
+    protected String read(DataInputStream in) throws IOException {
+        line.reset();
+        int b;
+        while ((b = in.read()) >= 0 && b != '\n') {
+            line.write(b);
+        }
+        if (b < 0 && line.size() == 0) {
+            return null;
+        }
+        String plainText = line.toString(StandardCharsets.UTF_8.name());
+        if (plainText.endsWith("\r")) {
+            plainText = plainText.substring(0, plainText.length() - 1);
+        }
+        if (plainText.isEmpty()) {
+            throw new IOException("empty lines cannot be encrypted (record " + (getRecordCount() + 1) + " or later).");
+        }
+        return plainText;
+    }
+
+    /**
+     * バッチ内の平文を暗号化します。最初の1件でAES鍵を生成した後、残りを並列に暗号化します。
+     * 
+     * @param batch 平文のバッチ
+     * @return 暗号化結果データ
+     * @throws GeneralSecurityException 暗号化処理で例外がスローされた場合
+     * @since 1.10
+     */
+    @Override
+    protected List<EncryptionOutputData> process(final List<String> batch) throws GeneralSecurityException {
+        if (encryptor == null || sessionKeyRecords >= recordsPerSessionKey) {
+            encryptor = new RSAEncryptor(keyInfo);
+            sessionKeyRecords = 0;
+            sessionKeyCount++;
+        }
+        final EncryptionOutputData[] results = new EncryptionOutputData[batch.size()];
+        results[0] = encryptor.encryptData(batch.get(0), null);
+        try {
+            IntStream.range(1, results.length).parallel().forEach(i -> {
+                try {
+                    results[i] = encryptor.encryptData(batch.get(i), null);
+                } catch (GeneralSecurityException e) {
+                    throw new UncheckedSecurityException(e);
+                }
+            });
+        } catch (UncheckedSecurityException e) {
+            throw e.getCause();
+        }
+        sessionKeyRecords += batch.size();
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 出力ファイルに1件の暗号化結果データを書き込みます。
+     * 
+     * @param out 出力ストリーム
+     * @param result 暗号化結果データ
+     * @throws IOException ファイルの出力で例外がスローされた場合
+     * @since 1.10
+     */
+    @Override
+    protected void write(DataOutputStream out, EncryptionOutputData result) throws IOException {
+        EncryptionOutputDataIO.write(out, result);
+    }
+
+    /**
+     * メイン関数。以下の引数でジョブを実行します。
+     * <pre>
+     * BulkEncryptJob 入力ファイル 出力ファイル チェックポイント・ファイル 公開鍵(PKCS#8 DER)
+     * </pre>
+     * 
+     * @param args コマンドライン引数
+     * @throws Exception ジョブの実行で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: BulkEncryptJob INPUT OUTPUT CHECKPOINT PUBLIC_KEY_DER");
+            System.exit(2);
+        }
+        BulkEncryptJob job = new BulkEncryptJob(new PKCS8KeyInfo(args[3]));
+        long start = System.nanoTime();
+        job.run(Paths.get(args[0]), Paths.get(args[1]), Paths.get(args[2]));
+        System.out.println("records = " + job.getRecordCount() + ", session keys = " + job.getSessionKeyCount()
+                + ", elapsed = " + (System.nanoTime() - start) / 1000000 + "ms");
+    }
+}
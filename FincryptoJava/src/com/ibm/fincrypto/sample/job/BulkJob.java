@@ -0,0 +1,266 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.job;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 入力ファイルのデータをバッチ単位で処理して出力ファイルに書き込む、中断後に再開可能なジョブの基底クラスです。
+ * <p>
+ * バッチごとに出力を同期してから、入力と出力の位置と処理した件数を{@link Checkpoint}に記録します。
+ * 中断した場合は同じ引数で再実行すると、チェックポイント以降に書き込まれた出力を破棄し、記録された入力の位置から再開します。
+ * このため、再開時にやり直す処理は最大で1バッチ分です。
+ * サブクラスは{@link #saveState(Properties)}と{@link #restoreState(Properties)}で独自の状態をチェックポイントに記録できます。
+ * 
+ * @param <I> 入力ファイルから読み込むデータの型
+ * @param <O> 出力ファイルに書き込むデータの型
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public abstract class BulkJob<I, O> {
+
+    /**
+     * バッチの件数のデフォルト値
+     */
+    public static final int DEFAULT_BATCH_SIZE = 10000;
+
+    /**
+     * バッチの件数
+     */
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    /**
+     * 処理したデータの件数
+     */
+    private long recordCount = 0;
+
+    /**
+     * バッチの件数を設定します。チェックポイントはバッチごとに記録されます。
+     * 
+     * @param batchSize バッチの件数
+     * @throws IllegalArgumentException 正でない値が指定された場合
+     * @since 1.10
+     */
+    public void setBatchSize(int batchSize) throws IllegalArgumentException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive.");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * ジョブを実行します。チェックポイント・ファイルがある場合は記録された位置から再開し、完了するとチェックポイント・ファイルを削除します。
+     * 
+     * @param input 入力ファイル
+     * @param output 出力ファイル
+     * @param checkpointFile チェックポイント・ファイル
+     * @throws IOException ファイルの入出力で例外がスローされた場合、もしくはチェックポイントが別のジョブのものである場合
+     * @throws GeneralSecurityException データの処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public void run(Path input, Path output, Path checkpointFile) throws IOException, GeneralSecurityException {
+        Checkpoint checkpoint = new Checkpoint(checkpointFile);
+        Properties props = checkpoint.load();
+        String jobName = getClass().getName();
+        String inputPath = input.toAbsolutePath().toString();
+        String outputPath = output.toAbsolutePath().toString();
+        if (props.isEmpty()) {
+            props.setProperty("job", jobName);
+            props.setProperty("input", inputPath);
+            props.setProperty("output", outputPath);
+            props.setProperty("inputOffset", "0");
+            props.setProperty("outputOffset", "0");
+            props.setProperty("records", "0");
+        } else if (!jobName.equals(props.getProperty("job", jobName)) || !inputPath.equals(props.getProperty("input"))
+                || !outputPath.equals(props.getProperty("output"))) {
+            throw new IOException("the checkpoint belongs to another job: " + checkpointFile);
+        } else {
+            restoreState(props);
+        }
+        long inputOffset = Long.parseLong(props.getProperty("inputOffset"));
+        long outputOffset = Long.parseLong(props.getProperty("outputOffset"));
+        recordCount = Long.parseLong(props.getProperty("records"));
+
+        try (FileChannel inChannel = FileChannel.open(input, StandardOpenOption.READ);
+                FileChannel outChannel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // チェックポイント以降に書き込まれた出力を破棄して再開する
+            Checkpoint.truncate(outChannel, outputOffset);
+            inChannel.position(inputOffset);
+            CountingInputStream counter = new CountingInputStream(
+                    new BufferedInputStream(Channels.newInputStream(inChannel)));
+            DataInputStream in = new DataInputStream(counter);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(outChannel)));
+
+            List<I> batch = new ArrayList<>(batchSize);
+            boolean eof = false;
+            while (!eof) {
+                batch.clear();
+                I data;
+                while (batch.size() < batchSize && (data = read(in)) != null) {
+                    batch.add(data);
+                }
+                eof = batch.size() < batchSize;
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (O result : process(batch)) {
+                    write(out, result);
+                }
+                out.flush();
+                outChannel.force(false);
+                recordCount += batch.size();
+                props.setProperty("inputOffset", Long.toString(inputOffset + counter.getCount()));
+                props.setProperty("outputOffset", Long.toString(outChannel.position()));
+                props.setProperty("records", Long.toString(recordCount));
+                saveState(props);
+                checkpoint.save(props);
+            }
+        }
+        checkpoint.delete();
+    }
+
+    /**
+     * 処理したデータの件数を返します。再開した場合は前回までの件数を含みます。
+     * 
+     * @return データの件数
+     * @since 1.10
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * 入力ファイルから1件のデータを読み込みます。
+     * 
+     * @param in 入力ストリーム
+     * @return データ。ファイルの終わりに達した場合は<code>null</code>
+     * @throws IOException ファイルの入力で例外がスローされた場合、もしくはデータの形式が不正な場合
+     * @since 1.10
+     */
+    protected abstract I read(DataInputStream in) throws IOException;
+
+    /**
+     * 1つのバッチを処理します。
+     * 
+     * @param batch 入力ファイルから読み込んだデータ
+     * @return 出力ファイルに書き込むデータ
+     * @throws GeneralSecurityException データの処理で例外がスローされた場合
+     * @since 1.10
+     */
+    protected abstract List<O> process(List<I> batch) throws GeneralSecurityException;
+
+    /**
+     * 出力ファイルに1件のデータを書き込みます。
+     * 
+     * @param out 出力ストリーム
+     * @param result データ
+     * @throws IOException ファイルの出力で例外がスローされた場合
+     * @since 1.10
+     */
+    protected abstract void write(DataOutputStream out, O result) throws IOException;
+
+    /**
+     * チェックポイントを保存する前に、サブクラスの状態をチェックポイントに設定します。
+     * <code>job</code>、<code>input</code>、<code>output</code>、<code>inputOffset</code>、<code>outputOffset</code>、
+     * <code>records</code>以外のキーを使用してください。
+     * 
+     * @param props チェックポイントの内容
+     * @since 1.10
+     */
+    protected void saveState(Properties props) {
+    }
+
+    /**
+     * 再開時に、チェックポイントからサブクラスの状態を復元します。
+     * 
+     * @param props チェックポイントの内容
+     * @throws IOException チェックポイントの内容が不正な場合
+     * @since 1.10
+     */
+    protected void restoreState(Properties props) throws IOException {
+    }
+
+    /**
+     * 読み込んだバイト数を数える入力ストリームです。バッファリングされた入力の位置を求めるために使用します。
+     * 
+     * @version 1.10, 2026/10/18
+     * @since 1.10
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        /**
+         * 読み込んだバイト数
+         */
+        private long count = 0;
+
+        /**
+         * コンストラクタ。
+         * 
+         * @param in 入力ストリーム
+         */
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        /**
+         * 読み込んだバイト数を返します。
+         * 
+         * @return バイト数
+         */
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
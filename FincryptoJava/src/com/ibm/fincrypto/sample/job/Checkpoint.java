@@ -0,0 +1,144 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.job;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * ジョブの進捗をファイルに記録するチェックポイントです。内容はプロパティー形式で保存します。
+ * 保存は一時ファイルへの書き込み、fsync、アトミックなリネームの順に行うため、
+ * 保存の途中でプロセスが異常終了しても、前回もしくは今回のいずれかの内容が完全な状態で残ります。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class Checkpoint {
+
+    /**
+     * チェックポイント・ファイルのパス
+     */
+    private final Path file;
+    /**
+     * 保存に使用する一時ファイルのパス
+     */
+    private final Path tempFile;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param file チェックポイント・ファイルのパス
+     * @since 1.10
+     */
+    public Checkpoint(Path file) {
+        this.file = file.toAbsolutePath();
+        this.tempFile = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+    }
+
+    /**
+     * チェックポイントを読み込みます。
+     * 
+     * @return 記録された内容。チェックポイント・ファイルがない場合は空のプロパティー
+     * @throws IOException ファイルの入力で例外がスローされた場合
+     * @since 1.10
+     */
+    public Properties load() throws IOException {
+        Properties props = new Properties();
+        if (Files.exists(file)) {
+            try (InputStream is = Files.newInputStream(file)) {
+                props.load(is);
+            }
+        }
+        return props;
+    }
+
+    /**
+     * チェックポイントを保存します。
+     * 
+     * @param props 記録する内容
+     * @throws IOException ファイルの出力で例外がスローされた場合
+     * @since 1.10
+     */
+    public void save(Properties props) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        props.store(bos, null);
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.wrap(bos.toByteArray());
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        forceDirectory(file.getParent());
+    }
+
+    /**
+     * チェックポイント・ファイルを削除します。ジョブが完了した場合に呼び出します。
+     * 
+     * @throws IOException ファイルの削除で例外がスローされた場合
+     * @since 1.10
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(tempFile);
+    }
+
+    /**
+     * ファイルを書き込み用に開いたチャネルの内容を、指定された長さに切り詰めて同期します。
+     * ジョブの再開時に、チェックポイント以降に書き込まれた出力を破棄するために使用します。
+     * 
+     * @param channel 出力ファイルのチャネル
+     * @param size チェックポイントに記録された出力のバイト数
+     * @throws IOException ファイルの処理で例外がスローされた場合、もしくは出力がチェックポイントより短い場合
+     * @since 1.10
+     */
+    public static void truncate(FileChannel channel, long size) throws IOException {
+        if (channel.size() < size) {
+            throw new IOException("output is shorter than the checkpoint: " + channel.size() + " < " + size);
+        }
+        channel.truncate(size);
+        channel.position(size);
+        channel.force(true);
+    }
+
+    /**
+     * ディレクトリのエントリーを同期します。リネームを永続化するためのもので、サポートされないプラットフォームでは何もしません。
+     * 
+     * @param dir ディレクトリ
+     */
+    private static void forceDirectory(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Windowsなどディレクトリを開けないプラットフォームでは、リネームの永続化はファイル・システムに任せる
+        }
+    }
+}
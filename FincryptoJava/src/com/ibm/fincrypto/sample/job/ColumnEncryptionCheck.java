@@ -0,0 +1,331 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.job;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Base64;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.ibm.fincrypto.sample.EncryptionOutputDataIO;
+import com.ibm.fincrypto.sample.RSADecryptor;
+import com.ibm.fincrypto.sample.key.KeyInfo;
+import com.ibm.fincrypto.sample.key.KeyStoreKeyInfo;
+import com.ibm.fincrypto.sample.key.PKCS8KeyInfo;
+
+/**
+ * {@link ColumnEncryptionJob}を組み込みデータベースなどに対して実行し、結果を検証するクラスです。
+ * 以下の手順で検証し、すべての行が元の値に復号できない場合は終了コード1で終了します。
+ * <ol>
+ * <li>検証用のテーブルを作成し、<code>Long.MIN_VALUE</code>から<code>Long.MAX_VALUE</code>までの幅の主キーに平文、
+ * <code>null</code>および空文字列を登録する
+ * <li>処理の速度を制限してジョブを開始し、途中で割り込んで中断する
+ * <li>同じチェックポイント・ファイルでジョブを再実行し、完了させる
+ * <li>もう一度ジョブを実行し、暗号化済みの値が二重に暗号化されないことを確認する
+ * <li>すべての行を復号して元の値と比較する
+ * </ol>
+ * H2とApache Derbyでは以下のように実行します。キーストアのパスワードと秘密鍵のパスワードは標準入力から読み込みます。
+ * <pre>
+ * printf 'alicepass\nalicepass\n' | java -cp bin:h2.jar com.ibm.fincrypto.sample.job.ColumnEncryptionCheck \
+ *     jdbc:h2:mem:check sa "" alice.der alice.jck alice
+ * printf 'alicepass\nalicepass\n' | java -cp bin:derby.jar:derbyshared.jar \
+ *     com.ibm.fincrypto.sample.job.ColumnEncryptionCheck "jdbc:derby:memory:check;create=true" app "" \
+ *     alice.der alice.jck alice
+ * </pre>
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class ColumnEncryptionCheck {
+
+    /**
+     * 検証用のテーブル名
+     */
+    private static final String TABLE = "FINCRYPTO_CHECK";
+    /**
+     * JDBCのURL
+     */
+    private final String url;
+    /**
+     * コネクションのプロパティー
+     */
+    private final Properties connectionProps;
+    /**
+     * RSA公開鍵情報
+     */
+    private final KeyInfo keyInfo;
+    /**
+     * 検証に使用する復号オブジェクト
+     */
+    private final RSADecryptor decryptor;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param url JDBCのURL
+     * @param connectionProps コネクションのプロパティー
+     * @param keyInfo RSA公開鍵情報
+     * @param decryptor 検証に使用する復号オブジェクト
+     */
+    ColumnEncryptionCheck(String url, Properties connectionProps, KeyInfo keyInfo, RSADecryptor decryptor) {
+        this.url = url;
+        this.connectionProps = connectionProps;
+        this.keyInfo = keyInfo;
+        this.decryptor = decryptor;
+    }
+
+    /**
+     * 行番号に対応する主キーを返します。前半の行は<code>Long.MIN_VALUE</code>から、後半の行は<code>Long.MAX_VALUE</code>から
+     * 降順に登録します。
+     * 
+     * @param row 行番号
+     * @param rows 行数
+     * @return 主キー
+     */
+    private static long key(int row, int rows) {
+        return row < rows / 2 ? Long.MIN_VALUE + row : Long.MAX_VALUE - (row - rows / 2);
+    }
+
+    /**
+     * 行番号に対応する平文を返します。
+     * 
+     * @param row 行番号
+     * @return 平文 (<code>null</code>もしくは空文字列を含む)
+     */
+    private static String value(int row) {
+        if (row % 10 == 3) {
+            return null;
+        }
+        if (row % 10 == 7) {
+            return "";
+        }
+        return String.format("%012d", row);
+    }
+
+    /**
+     * 検証用のテーブルを作成してデータを登録します。
+     * 
+     * @param conn コネクション
+     * @param rows 行数
+     * @throws SQLException データベースの処理で例外がスローされた場合
+     */
+    private static void createTable(Connection conn, int rows) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            try {
+                stmt.executeUpdate("DROP TABLE " + TABLE);
+            } catch (SQLException e) {
+                // テーブルがない
+            }
+            stmt.executeUpdate("CREATE TABLE " + TABLE + " (ID BIGINT NOT NULL PRIMARY KEY, VAL VARCHAR(1024))");
+        }
+        conn.setAutoCommit(false);
+        try (PreparedStatement insert = conn.prepareStatement("INSERT INTO " + TABLE + " VALUES (?, ?)")) {
+            for (int row = 0; row < rows; row++) {
+                insert.setLong(1, key(row, rows));
+                insert.setString(2, value(row));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        conn.commit();
+        conn.setAutoCommit(true);
+    }
+
+    /**
+     * ジョブを生成します。
+     * 
+     * @param threads スレッドの数
+     * @return ジョブ
+     */
+    private ColumnEncryptionJob newJob(int threads) {
+        ColumnEncryptionJob job = new ColumnEncryptionJob(url, connectionProps, keyInfo, TABLE, "ID", "VAL");
+        job.setThreads(threads);
+        job.setChunkSize(50);
+        return job;
+    }
+
+    /**
+     * すべての行を復号して元の値と比較します。
+     * 
+     * @param conn コネクション
+     * @param rows 行数
+     * @return 一致しない行の数
+     * @throws SQLException データベースの処理で例外がスローされた場合
+     */
+    private int verify(Connection conn, int rows) throws SQLException {
+        int errors = 0;
+        int count = 0;
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT ID, VAL FROM " + TABLE)) {
+            while (rs.next()) {
+                count++;
+                long id = rs.getLong(1);
+                String actual = rs.getString(2);
+                int row = (int) (id < 0 ? id - Long.MIN_VALUE : rows / 2 + (Long.MAX_VALUE - id));
+                String expected = value(row);
+                String decrypted = actual;
+                if (expected != null && !expected.isEmpty()) {
+                    try {
+                        decrypted = decryptor.decryptData(
+                                EncryptionOutputDataIO.fromByteArray(Base64.getDecoder().decode(actual)));
+                    } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+                        decrypted = "<" + e + ">";
+                    }
+                }
+                if (expected == null ? decrypted != null : !expected.equals(decrypted)) {
+                    errors++;
+                    System.out.println("mismatch: ID = " + id + ", expected = " + expected + ", actual = " + decrypted);
+                }
+            }
+        }
+        if (count != rows) {
+            System.out.println("unexpected number of rows: " + count);
+            errors++;
+        }
+        return errors;
+    }
+
+    /**
+     * 検証を実行します。
+     * 
+     * @param rows 行数
+     * @param threads スレッドの数
+     * @return 検証に失敗した項目の数
+     * @throws Exception データベースの処理もしくはチェックポイントの入出力で例外がスローされた場合
+     */
+    int run(int rows, int threads) throws Exception {
+        // メモリー上のデータベースは最後のコネクションを閉じると破棄されるため、検証の間はコネクションを開いておく
+        try (Connection conn = DriverManager.getConnection(url, connectionProps)) {
+            return check(conn, rows, threads);
+        }
+    }
+
+    /**
+     * 検証の各手順を実行します。
+     * 
+     * @param conn テーブルの作成と検証に使用するコネクション
+     * @param rows 行数
+     * @param threads スレッドの数
+     * @return 検証に失敗した項目の数
+     * @throws Exception データベースの処理もしくはチェックポイントの入出力で例外がスローされた場合
+     */
+    private int check(Connection conn, int rows, int threads) throws Exception {
+        int failures = 0;
+        createTable(conn, rows);
+        Path dir = Files.createTempDirectory("fincrypto-check");
+        Path checkpointFile = dir.resolve("check.checkpoint");
+
+        // 速度を制限して開始し、約0.5秒後に割り込んで中断する
+        ColumnEncryptionJob interrupted = newJob(threads);
+        interrupted.setMaxRowsPerSecond(Math.max(1, rows));
+        final Thread runner = Thread.currentThread();
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        timer.schedule(runner::interrupt, 500, TimeUnit.MILLISECONDS);
+        try {
+            interrupted.run(checkpointFile);
+            System.out.println("the first run was not interrupted.");
+        } catch (IOException | SQLException e) {
+            System.out.println("interrupted: " + e);
+        } finally {
+            // 割り込みのタスクが終了するのを待ってから、割り込み状態を解除する
+            timer.shutdownNow();
+            boolean terminated = false;
+            while (!terminated) {
+                try {
+                    terminated = timer.awaitTermination(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    // 検証のために設定した割り込み
+                }
+            }
+            Thread.interrupted();
+        }
+        System.out.println("first run: encrypted = " + interrupted.getEncryptedCount() + ", checkpoint exists = "
+                + Files.exists(checkpointFile));
+
+        ColumnEncryptionJob resumed = newJob(threads);
+        resumed.run(checkpointFile);
+        System.out.println("resumed run: encrypted = " + resumed.getEncryptedCount() + ", skipped = "
+                + resumed.getSkippedCount());
+        try (Stream<Path> files = Files.list(dir)) {
+            long remaining = files.count();
+            if (remaining != 0) {
+                System.out.println("checkpoint files are left: " + remaining);
+                failures++;
+            }
+        }
+
+        ColumnEncryptionJob again = newJob(threads);
+        again.run(checkpointFile);
+        System.out.println("repeated run: encrypted = " + again.getEncryptedCount());
+        if (again.getEncryptedCount() != 0) {
+            failures++;
+        }
+
+        int mismatches = verify(conn, rows);
+        System.out.println("verified rows = " + rows + ", mismatches = " + mismatches);
+        failures += mismatches;
+        Files.deleteIfExists(dir);
+        return failures;
+    }
+
+    /**
+     * メイン関数。以下の引数で検証します。キーストアのパスワードと秘密鍵のパスワードは標準入力から1行ずつ読み込みます。
+     * <pre>
+     * ColumnEncryptionCheck JDBCのURL ユーザー パスワード 公開鍵(PKCS#8 DER) キーストア 別名 [行数] [スレッドの数]
+     * </pre>
+     * 
+     * @param args コマンドライン引数
+     * @throws Exception 検証で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 6) {
+            System.err.println("usage: ColumnEncryptionCheck JDBC_URL USER PASSWORD PUBLIC_KEY_DER KEYSTORE ALIAS"
+                    + " [ROWS] [THREADS] (STORE_PASSWORD and KEY_PASSWORD are read from the standard input)");
+            System.exit(2);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String storePassword = reader.readLine();
+        String keyPassword = reader.readLine();
+        if (storePassword == null || keyPassword == null) {
+            System.err.println("STORE_PASSWORD and KEY_PASSWORD must be given in the standard input.");
+            System.exit(2);
+        }
+        Properties connectionProps = new Properties();
+        connectionProps.setProperty("user", args[1]);
+        connectionProps.setProperty("password", args[2]);
+        RSADecryptor decryptor = new RSADecryptor(new KeyStoreKeyInfo(args[5], "JCEKS", args[4], storePassword),
+                keyPassword);
+        int rows = args.length > 6 ? Integer.parseInt(args[6]) : 2000;
+        int threads = args.length > 7 ? Integer.parseInt(args[7]) : 4;
+        int failures = new ColumnEncryptionCheck(args[0], connectionProps, new PKCS8KeyInfo(args[3]), decryptor)
+                .run(rows, threads);
+        System.out.println(failures == 0 ? "OK" : "FAILED: " + failures);
+        System.exit(failures == 0 ? 0 : 1);
+    }
+}
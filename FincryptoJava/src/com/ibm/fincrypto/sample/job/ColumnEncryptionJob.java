@@ -0,0 +1,581 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.job;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.EncryptionOutputDataIO;
+import com.ibm.fincrypto.sample.RSAEncryptor;
+import com.ibm.fincrypto.sample.key.KeyInfo;
+import com.ibm.fincrypto.sample.key.PKCS8KeyInfo;
+
+/**
+ * データベースのテーブルの平文の列 (マイナンバーなど) を、{@link RSAEncryptor}で暗号化した値に置き換えるジョブです。
+ * 暗号化した値は{@link EncryptionOutputDataIO}の形式のバイト列をBase64で符号化した文字列で、2048ビットのRSA鍵の場合は
+ * 平文の長さに加えて約450文字になります。列の長さが足りない場合は事前に拡張してください。
+ * <p>
+ * テーブルは数値の主キーの範囲で複数のパーティションに分割し、パーティションごとに1つのコネクションで並列に処理します。
+ * 各パーティションは主キーの順にチャンク単位で読み込み (JDBCのフェッチ・サイズを指定してストリーミングで読み込みます)、
+ * チャンク内のデータを1つのAES鍵で暗号化し、バッチ更新で書き戻してコミットします。
+ * コミットのたびにパーティションごとの処理済みの主キーを{@link Checkpoint}に記録するため、中断した場合は同じ引数で再実行すると
+ * 記録された位置から再開します。チェックポイントはパーティションの分割を記録するファイルと、パーティションごとのファイル
+ * (チェックポイント・ファイル名に<code>.partition.</code>と番号を付けたもの) に分かれており、各パーティションは
+ * 他のパーティションを待たずに自身のファイルへ記録します。既に暗号化された値、<code>null</code>および空文字列は変更しないため、
+ * コミットとチェックポイントの記録の間で中断した場合でも二重に暗号化されることはありません。
+ * 毎秒の最大処理件数を指定すると、データベースへの負荷を抑えるために処理の速度を制限します。
+ * <p>
+ * JDBCドライバーはクラスパスに追加してください。組み込みデータベースのH2で動作を確認する場合は、以下のように実行します。
+ * <pre>
+ * java -cp bin:h2.jar org.h2.tools.Shell -url jdbc:h2:./testdb -user sa \
+ *     -sql "CREATE TABLE CUSTOMER(ID BIGINT PRIMARY KEY, MYNUMBER VARCHAR(1024));
+ *           INSERT INTO CUSTOMER SELECT X, LPAD(X, 12, '0') FROM SYSTEM_RANGE(1, 100000)"
+ * echo "" | java -cp bin:h2.jar com.ibm.fincrypto.sample.job.ColumnEncryptionJob jdbc:h2:./testdb sa \
+ *     CUSTOMER ID MYNUMBER alice.der customer.checkpoint 4 20000
+ * </pre>
+ * 中断と再開を含めたジョブの動作と暗号化結果は、{@link ColumnEncryptionCheck}でH2やApache Derbyなどの組み込みデータベースを
+ * 使用して検証できます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class ColumnEncryptionJob {
+
+    /**
+     * 1回のコミットで処理する件数のデフォルト値
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    /**
+     * JDBCのフェッチ・サイズのデフォルト値
+     */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+    /**
+     * 1つのスレッドあたりのパーティションの数。処理量の偏りを抑えるため、スレッドの数より多く分割する
+     */
+    private static final int PARTITIONS_PER_THREAD = 4;
+    /**
+     * SQLに埋め込むテーブル名と列名の形式
+     */
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+    /**
+     * JDBCのURL
+     */
+    private final String url;
+    /**
+     * コネクションのプロパティー (ユーザーとパスワードなど)
+     */
+    private final Properties connectionProps;
+    /**
+     * RSA公開鍵情報
+     */
+    private final KeyInfo keyInfo;
+    /**
+     * テーブル名
+     */
+    private final String table;
+    /**
+     * 主キーの列名
+     */
+    private final String keyColumn;
+    /**
+     * 暗号化する列名
+     */
+    private final String column;
+    /**
+     * 並列に処理するスレッドの数
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    /**
+     * 1回のコミットで処理する件数
+     */
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    /**
+     * JDBCのフェッチ・サイズ
+     */
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+    /**
+     * 毎秒の最大処理件数 (0の場合は制限しない)
+     */
+    private int maxRowsPerSecond = 0;
+    /**
+     * 暗号化した件数
+     */
+    private final AtomicLong encryptedCount = new AtomicLong();
+    /**
+     * 暗号化せずに残した件数 (暗号化済み、<code>null</code>もしくは空文字列)
+     */
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param url JDBCのURL
+     * @param connectionProps コネクションのプロパティー (ユーザーとパスワードなど)
+     * @param keyInfo RSA公開鍵情報
+     * @param table テーブル名 (スキーマ名で修飾できます)
+     * @param keyColumn 数値の主キーの列名
+     * @param column 暗号化する文字列の列名
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合、もしくはテーブル名や列名の形式が不正な場合
+     * @since 1.10
+     */
+    public ColumnEncryptionJob(String url, Properties connectionProps, KeyInfo keyInfo, String table,
+            String keyColumn, String column) throws IllegalArgumentException {
+        if (url == null || keyInfo == null) {
+            throw new IllegalArgumentException("url and keyInfo must be not null.");
+        }
+        for (String name : new String[] { table, keyColumn, column }) {
+            if (name == null || !IDENTIFIER.matcher(name).matches()) {
+                throw new IllegalArgumentException("invalid table or column name: " + name);
+            }
+        }
+        this.url = url;
+        this.connectionProps = connectionProps == null ? new Properties() : connectionProps;
+        this.keyInfo = keyInfo;
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.column = column;
+    }
+
+    /**
+     * 並列に処理するスレッドの数を設定します。新しく開始する場合は、スレッドの数に応じてパーティションの数が決まります。
+     * 
+     * @param threads スレッドの数
+     * @throws IllegalArgumentException 正でない値が指定された場合
+     * @since 1.10
+     */
+    public void setThreads(int threads) throws IllegalArgumentException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive.");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * 1回のコミットで処理する件数を設定します。チェックポイントはコミットごとに記録されます。
+     * 
+     * @param chunkSize 件数
+     * @throws IllegalArgumentException 正でない値が指定された場合
+     * @since 1.10
+     */
+    public void setChunkSize(int chunkSize) throws IllegalArgumentException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive.");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * JDBCのフェッチ・サイズを設定します。
+     * 
+     * @param fetchSize フェッチ・サイズ
+     * @throws IllegalArgumentException 正でない値が指定された場合
+     * @since 1.10
+     */
+    public void setFetchSize(int fetchSize) throws IllegalArgumentException {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize must be positive.");
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 毎秒の最大処理件数を設定します。すべてのスレッドの合計の件数を制限します。
+     * 
+     * @param maxRowsPerSecond 毎秒の最大処理件数 (0の場合は制限しない)
+     * @throws IllegalArgumentException 負の値が指定された場合
+     * @since 1.10
+     */
+    public void setMaxRowsPerSecond(int maxRowsPerSecond) throws IllegalArgumentException {
+        if (maxRowsPerSecond < 0) {
+            throw new IllegalArgumentException("maxRowsPerSecond must be zero or positive.");
+        }
+        this.maxRowsPerSecond = maxRowsPerSecond;
+    }
+
+    /**
+     * ジョブを実行します。チェックポイント・ファイルがある場合は記録された位置から再開し、完了するとチェックポイント・ファイルを削除します。
+     * 
+     * @param checkpointFile チェックポイント・ファイル
+     * @throws SQLException データベースの処理で例外がスローされた場合
+     * @throws IOException チェックポイントの入出力で例外がスローされた場合、もしくはチェックポイントが別のテーブルのものである場合
+     * @throws GeneralSecurityException 暗号化処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public void run(Path checkpointFile) throws SQLException, IOException, GeneralSecurityException {
+        final Checkpoint checkpoint = new Checkpoint(checkpointFile);
+        final Properties props = checkpoint.load();
+        String target = table + "." + column;
+        if (props.isEmpty()) {
+            long[] range = keyRange();
+            if (range == null) {
+                // 空のテーブル
+                return;
+            }
+            long min = range[0];
+            long max = range[1];
+            // 範囲の幅は最大で2^64 - 1になるため、符号なしの64ビット整数として扱う。
+            // 幅が0の場合を除きpartitionsは2以上のため、stepは2^63以下で符号なしの範囲に収まる
+            long width = max - min;
+            long maxCount = (long) threads * PARTITIONS_PER_THREAD;
+            long partitions = Long.compareUnsigned(width, maxCount) < 0 ? width + 1 : maxCount;
+            long step = Long.divideUnsigned(width, partitions) + 1;
+            // 空のパーティションができないよう、stepで幅を覆うのに必要な数に減らす
+            int count = (int) (Long.divideUnsigned(width, step) + 1);
+            props.setProperty("target", target);
+            props.setProperty("partitions", String.valueOf(count));
+            for (int i = 0; i < count; i++) {
+                // パーティションiは [start, end] の範囲の主キーを処理する。
+                // step * iはwidth以下のため、minとの和は桁あふれしても範囲内の正しい値になる
+                long start = min + step * i;
+                long end = i == count - 1 ? max : start + step - 1;
+                props.setProperty("partition." + i + ".start", String.valueOf(start));
+                props.setProperty("partition." + i + ".end", String.valueOf(end));
+                // 以前のジョブのパーティションごとのチェックポイントが残っていれば削除する
+                partitionCheckpoint(checkpointFile, i).delete();
+            }
+            checkpoint.save(props);
+        } else if (!target.equals(props.getProperty("target"))) {
+            throw new IOException("the checkpoint belongs to another job: " + checkpointFile);
+        }
+
+        int count = Integer.parseInt(props.getProperty("partitions"));
+        final Throttle throttle = maxRowsPerSecond > 0 ? new Throttle(maxRowsPerSecond) : null;
+        List<Checkpoint> partitionCheckpoints = new ArrayList<>(count);
+        List<Callable<Void>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int partition = i;
+            final Checkpoint partitionCheckpoint = partitionCheckpoint(checkpointFile, i);
+            final long end = Long.parseLong(props.getProperty("partition." + i + ".end"));
+            partitionCheckpoints.add(partitionCheckpoint);
+            // パーティションのチェックポイントがなければ、分割時の開始位置から処理する
+            String recorded = partitionCheckpoint.load().getProperty("last");
+            if (recorded != null && Long.parseLong(recorded) >= end) {
+                // 処理済みのパーティション
+                continue;
+            }
+            final long start = recorded != null ? Long.parseLong(recorded) + 1
+                    : Long.parseLong(props.getProperty("partition." + i + ".start"));
+            tasks.add(() -> {
+                migratePartition(partition, partitionCheckpoint, start, end, throttle);
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+        // パーティションの分割を記録するファイルが残っている間に中断しても再開できるよう、最後に削除する
+        for (Checkpoint partitionCheckpoint : partitionCheckpoints) {
+            partitionCheckpoint.delete();
+        }
+        checkpoint.delete();
+    }
+
+    /**
+     * パーティションごとのチェックポイントを返します。
+     * 
+     * @param checkpointFile チェックポイント・ファイル
+     * @param partition パーティションの番号
+     * @return パーティションのチェックポイント
+     */
+    private static Checkpoint partitionCheckpoint(Path checkpointFile, int partition) {
+        return new Checkpoint(checkpointFile.resolveSibling(checkpointFile.getFileName() + ".partition." + partition));
+    }
+
+    /**
+     * 暗号化した件数を返します。
+     * 
+     * @return 件数
+     * @since 1.10
+     */
+    public long getEncryptedCount() {
+        return encryptedCount.get();
+    }
+
+    /**
+     * 暗号化せずに残した件数 (暗号化済み、<code>null</code>もしくは空文字列) を返します。
+     * 
+     * @return 件数
+     * @since 1.10
+     */
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+
+    /**
+     * 主キーの最小値と最大値を返します。
+     * 
+     * @return 最小値と最大値の配列。テーブルが空の場合は<code>null</code>
+     * @throws SQLException データベースの処理で例外がスローされた場合、もしくは最大値が最小値より小さい場合
+     */
+    private long[] keyRange() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url, connectionProps);
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(
+                        "SELECT MIN(" + keyColumn + "), MAX(" + keyColumn + ") FROM " + table)) {
+            if (!rs.next()) {
+                return null;
+            }
+            long min = rs.getLong(1);
+            if (rs.wasNull()) {
+                return null;
+            }
+            long max = rs.getLong(2);
+            if (max < min) {
+                throw new SQLException("invalid key range: " + min + " - " + max);
+            }
+            return new long[] { min, max };
+        }
+    }
+
+    /**
+     * 1つのパーティションを、指定された主キーから最後まで処理します。
+     * 処理済みの主キーは開始位置の直前の値ではなくチャンクの最後の値で記録するため、主キーが<code>Long.MIN_VALUE</code>から
+     * 始まる場合も表せます。
+     * 
+     * @param partition パーティションの番号
+     * @param checkpoint パーティションのチェックポイント
+     * @param start 最初に処理する主キー
+     * @param end パーティションの最後の主キー
+     * @param throttle 処理の速度の制限 (<code>null</code>の場合は制限しない)
+     * @throws SQLException データベースの処理で例外がスローされた場合
+     * @throws IOException チェックポイントの出力で例外がスローされた場合
+     * @throws GeneralSecurityException 暗号化処理で例外がスローされた場合
+     * @throws InterruptedException 速度の制限で待つ間に割り込まれた場合
+     */
+    private void migratePartition(int partition, Checkpoint checkpoint, long start, long end, Throttle throttle)
+            throws SQLException, IOException, GeneralSecurityException, InterruptedException {
+        try (Connection conn = DriverManager.getConnection(url, connectionProps)) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement select = conn.prepareStatement(
+                    "SELECT " + keyColumn + ", " + column + " FROM " + table + " WHERE " + keyColumn + " >= ? AND "
+                            + keyColumn + " <= ? ORDER BY " + keyColumn,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    PreparedStatement update = conn.prepareStatement(
+                            "UPDATE " + table + " SET " + column + " = ? WHERE " + keyColumn + " = ?")) {
+                select.setFetchSize(fetchSize);
+                select.setMaxRows(chunkSize);
+                List<Long> keys = new ArrayList<>(chunkSize);
+                List<String> values = new ArrayList<>(chunkSize);
+                Properties props = new Properties();
+                props.setProperty("partition", String.valueOf(partition));
+                long next = start;
+                long last;
+                do {
+                    // 主キーの順にチャンクを読み込む
+                    keys.clear();
+                    values.clear();
+                    select.setLong(1, next);
+                    select.setLong(2, end);
+                    try (ResultSet rs = select.executeQuery()) {
+                        while (rs.next()) {
+                            keys.add(rs.getLong(1));
+                            values.add(rs.getString(2));
+                        }
+                    }
+
+                    // チャンク内のデータは1つのAES鍵で暗号化する
+                    RSAEncryptor encryptor = new RSAEncryptor(keyInfo);
+                    int updates = 0;
+                    for (int i = 0; i < keys.size(); i++) {
+                        String value = values.get(i);
+                        if (value == null || value.isEmpty() || isEncrypted(value)) {
+                            skippedCount.incrementAndGet();
+                            continue;
+                        }
+                        EncryptionOutputData outData = encryptor.encryptData(value, null);
+                        update.setString(1, Base64.getEncoder().encodeToString(
+                                EncryptionOutputDataIO.toByteArray(outData)));
+                        update.setLong(2, keys.get(i));
+                        update.addBatch();
+                        updates++;
+                    }
+                    if (updates > 0) {
+                        update.executeBatch();
+                    }
+                    conn.commit();
+                    encryptedCount.addAndGet(updates);
+
+                    // チャンクが最大件数に満たない場合はパーティションの最後まで処理した
+                    last = keys.size() < chunkSize ? end : keys.get(keys.size() - 1);
+                    props.setProperty("last", String.valueOf(last));
+                    checkpoint.save(props);
+                    if (throttle != null) {
+                        throttle.acquire(keys.size());
+                    }
+                    // last < endのため、Long.MAX_VALUEを超えない
+                    next = last + 1;
+                } while (last < end);
+            } catch (SQLException | GeneralSecurityException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 列の値が既に暗号化されているかどうかを判定します。
+     * Base64で復号でき、{@link EncryptionOutputDataIO}の形式の1件のデータとして長さが一致する場合に暗号化済みとみなします。
+     * 
+     * @param value 列の値
+     * @return 暗号化されている場合は<code>true</code>
+     */
+    static boolean isEncrypted(String value) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(value);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        try {
+            return EncryptionOutputDataIO.sizeOf(EncryptionOutputDataIO.fromByteArray(bytes)) == bytes.length;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * すべてのスレッドの合計の処理件数を制限するクラスです。処理した件数に応じて次の処理の開始を遅らせます。
+     * 
+     * @version 1.10, 2026/10/18
+     * @since 1.10
+     */
+    private static class Throttle {
+        /**
+         * 1件あたりの時間 (ナノ秒)
+         */
+        private final long nanosPerRow;
+        /**
+         * 次の処理を開始できる時刻 (System.nanoTime()の値)
+         */
+        private long next = System.nanoTime();
+
+        /**
+         * コンストラクタ。
+         * 
+         * @param rowsPerSecond 毎秒の最大処理件数
+         */
+        Throttle(int rowsPerSecond) {
+            this.nanosPerRow = TimeUnit.SECONDS.toNanos(1) / rowsPerSecond;
+        }
+
+        /**
+         * 処理した件数を加算し、制限を超えている場合は超えた分だけ待ちます。
+         * 
+         * @param rows 処理した件数
+         * @throws InterruptedException 待つ間に割り込まれた場合
+         */
+        void acquire(int rows) throws InterruptedException {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                if (next < now) {
+                    next = now;
+                }
+                next += rows * nanosPerRow;
+                waitNanos = next - now;
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+
+    /**
+     * メイン関数。以下の引数でジョブを実行します。
+     * データベースのパスワードは、コマンドラインに残らないように標準入力から1行読み込みます。
+     * <pre>
+     * ColumnEncryptionJob JDBCのURL ユーザー テーブル 主キーの列 暗号化する列 公開鍵(PKCS#8 DER)
+     *                     チェックポイント・ファイル [スレッドの数] [毎秒の最大処理件数]
+     * </pre>
+     * 
+     * @param args コマンドライン引数
+     * @throws Exception ジョブの実行で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 7) {
+            System.err.println("usage: ColumnEncryptionJob JDBC_URL USER TABLE KEY_COLUMN COLUMN"
+                    + " PUBLIC_KEY_DER CHECKPOINT [THREADS] [MAX_ROWS_PER_SECOND]"
+                    + " (PASSWORD is read from the standard input)");
+            System.exit(2);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String password = reader.readLine();
+        if (password == null) {
+            System.err.println("PASSWORD must be given in the standard input.");
+            System.exit(2);
+        }
+        Properties connectionProps = new Properties();
+        connectionProps.setProperty("user", args[1]);
+        connectionProps.setProperty("password", password);
+        ColumnEncryptionJob job = new ColumnEncryptionJob(args[0], connectionProps, new PKCS8KeyInfo(args[5]),
+                args[2], args[3], args[4]);
+        if (args.length > 7) {
+            job.setThreads(Integer.parseInt(args[7]));
+        }
+        if (args.length > 8) {
+            job.setMaxRowsPerSecond(Integer.parseInt(args[8]));
+        }
+        long start = System.nanoTime();
+        job.run(Paths.get(args[6]));
+        System.out.println("encrypted = " + job.getEncryptedCount() + ", skipped = " + job.getSkippedCount()
+                + ", elapsed = " + (System.nanoTime() - start) / 1000000 + "ms");
+    }
+}
@@ -0,0 +1,266 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.job;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Cipher;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.EncryptionOutputDataIO;
+import com.ibm.fincrypto.sample.UncheckedSecurityException;
+import com.ibm.fincrypto.sample.key.KeyFingerprint;
+import com.ibm.fincrypto.sample.key.KeyInfo;
+import com.ibm.fincrypto.sample.key.KeyRing;
+import com.ibm.fincrypto.sample.key.KeyStoreKeyInfo;
+import com.ibm.fincrypto.sample.key.PKCS8KeyInfo;
+
+/**
+ * RSA鍵のローテーションで、暗号化されたデータを復号せずにAES鍵だけを新しいRSA公開鍵で暗号化し直すジョブです。
+ * 入力は{@link EncryptionOutputDataIO}の形式で暗号化結果データを連続して書き込んだファイルで、
+ * 同じ形式で新しい鍵IDを持つデータを出力します。
+ * <p>
+ * データはバッチ単位で読み込み、バッチ内の異なる暗号化されたAES鍵のみを並列にRSA復号/暗号化します。
+ * 同じAES鍵で暗号化された多数のデータは1回のRSA処理で済むため、処理のコストはデータ量ではなくAES鍵の数に比例します。
+ * 中断した場合は同じ引数で再実行すると、{@link BulkJob}により最後のチェックポイントから再開します。
+ * 既に新しい鍵IDを持つデータはそのまま出力します。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class KeyRewrapJob extends BulkJob<EncryptionOutputData, EncryptionOutputData> {
+
+    /**
+     * 暗号化し直したAES鍵を保持する最大数 (超えた場合は保持している鍵を破棄する)
+     */
+    private static final int MAX_REWRAPPED_KEYS = 100000;
+    /**
+     * 旧RSA秘密鍵のキーリング
+     */
+    private final KeyRing oldKeys;
+    /**
+     * 新しいRSA公開鍵
+     */
+    private final PublicKey newPublicKey;
+    /**
+     * 新しいRSA公開鍵の鍵ID
+     */
+    private final byte[] newKeyId;
+    /**
+     * 鍵IDを持たないデータの復号に使用するRSA秘密鍵
+     */
+    private PrivateKey legacyKey = null;
+    /**
+     * 旧RSA公開鍵で暗号化されたAES鍵から新しいRSA公開鍵で暗号化されたAES鍵へのマップ
+     */
+    private final Map<ByteBuffer, byte[]> rewrapped = new ConcurrentHashMap<>();
+    /**
+     * 暗号化し直したAES鍵の数
+     */
+    private long rewrappedKeyCount = 0;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param oldKeys 旧RSA秘密鍵のキーリング
+     * @param newKeyInfo 新しいRSA公開鍵情報
+     * @throws GeneralSecurityException 新しい公開鍵の取得で例外がスローされた場合
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public KeyRewrapJob(KeyRing oldKeys, KeyInfo newKeyInfo)
+            throws GeneralSecurityException, IllegalArgumentException {
+        if (oldKeys == null || newKeyInfo == null) {
+            throw new IllegalArgumentException("oldKeys and newKeyInfo must be not null.");
+        }
+        this.oldKeys = oldKeys;
+        this.newPublicKey = newKeyInfo.getPublicKey();
+        this.newKeyId = KeyFingerprint.of(newPublicKey);
+    }
+
+    /**
+     * 鍵IDを持たないデータ(鍵IDの記録に対応する前に暗号化されたデータ)の復号に使用するRSA秘密鍵を設定します。
+     * 
+     * @param legacyKey RSA秘密鍵
+     * @since 1.10
+     */
+    public void setLegacyPrivateKey(PrivateKey legacyKey) {
+        this.legacyKey = legacyKey;
+    }
+
+    /**
+     * 入力ファイルから1件の暗号化結果データを読み込みます。
+     * 
+     * @param in 入力ストリーム
+     * @return 暗号化結果データ。ファイルの終わりに達した場合は<code>null</code>
+     * @throws IOException ファイルの入力で例外がスローされた場合、もしくはデータの形式が不正な場合
+     * @since 1.10
+     */
+    @Override
+    protected EncryptionOutputData read(DataInputStream in) throws IOException {
+        return EncryptionOutputDataIO.read(in);
+    }
+
+    /**
+     * バッチ内のデータのAES鍵を新しいRSA公開鍵で暗号化し直したデータを返します。
+     * 
+     * @param batch 暗号化結果データのバッチ
+     * @return 新しい鍵IDを持つ暗号化結果データ
+     * @throws GeneralSecurityException AES鍵の復号もしくは暗号化で例外がスローされた場合
+     * @since 1.10
+     */
+    @Override
+    protected List<EncryptionOutputData> process(List<EncryptionOutputData> batch) throws GeneralSecurityException {
+        rewrapBatch(batch);
+        List<EncryptionOutputData> results = new ArrayList<>(batch.size());
+        for (EncryptionOutputData record : batch) {
+            results.add(Arrays.equals(newKeyId, record.getKeyId()) ? record
+                    : record.withEncryptedKey(rewrapped.get(ByteBuffer.wrap(record.getEncryptedKey())), newKeyId));
+        }
+        return results;
+    }
+
+    /**
+     * 出力ファイルに1件の暗号化結果データを書き込みます。
+     * 
+     * @param out 出力ストリーム
+     * @param result 暗号化結果データ
+     * @throws IOException ファイルの出力で例外がスローされた場合
+     * @since 1.10
+     */
+    @Override
+    protected void write(DataOutputStream out, EncryptionOutputData result) throws IOException {
+        EncryptionOutputDataIO.write(out, result);
+    }
+
+    /**
+     * バッチ内のデータのうち、まだ暗号化し直していないAES鍵を並列に暗号化し直します。
+     * 
+     * @param batch バッチ
+     * @throws GeneralSecurityException AES鍵の復号もしくは暗号化で例外がスローされた場合
+     */
+    private void rewrapBatch(List<EncryptionOutputData> batch) throws GeneralSecurityException {
+        if (rewrapped.size() > MAX_REWRAPPED_KEYS) {
+            rewrapped.clear();
+        }
+        // 重複を除いた暗号化されたAES鍵と、その暗号化に使用された鍵ID
+        Map<ByteBuffer, byte[]> pending = new HashMap<>();
+        for (EncryptionOutputData data : batch) {
+            ByteBuffer wrappedKey = ByteBuffer.wrap(data.getEncryptedKey());
+            if (!Arrays.equals(newKeyId, data.getKeyId()) && !rewrapped.containsKey(wrappedKey)) {
+                pending.put(wrappedKey, data.getKeyId());
+            }
+        }
+        try {
+            pending.entrySet().parallelStream().forEach(entry -> {
+                try {
+                    rewrapped.put(entry.getKey(), rewrap(entry.getValue(), entry.getKey().array()));
+                } catch (GeneralSecurityException e) {
+                    throw new UncheckedSecurityException(e);
+                }
+            });
+        } catch (UncheckedSecurityException e) {
+            throw e.getCause();
+        }
+        rewrappedKeyCount += pending.size();
+    }
+
+    /**
+     * 旧RSA秘密鍵でAES鍵を復号し、新しいRSA公開鍵で暗号化します。
+     * 
+     * @param keyId AES鍵の暗号化に使用された鍵ID
+     * @param encryptedKey 旧RSA公開鍵で暗号化されたAES鍵
+     * @return 新しいRSA公開鍵で暗号化されたAES鍵
+     * @throws GeneralSecurityException AES鍵の復号もしくは暗号化で例外がスローされた場合、もしくは対応する秘密鍵がない場合
+     */
+    private byte[] rewrap(byte[] keyId, byte[] encryptedKey) throws GeneralSecurityException {
+        PrivateKey privateKey = keyId == null ? legacyKey : oldKeys.getPrivateKey(keyId);
+        if (privateKey == null) {
+            throw new GeneralSecurityException("no private key for key id "
+                    + (keyId == null ? "(none)" : KeyFingerprint.toHexString(keyId)));
+        }
+        Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding");
+        cipher.init(Cipher.DECRYPT_MODE, privateKey);
+        byte[] aesKey = cipher.doFinal(encryptedKey);
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, newPublicKey);
+            return cipher.doFinal(aesKey);
+        } finally {
+            Arrays.fill(aesKey, (byte) 0);
+        }
+    }
+
+    /**
+     * 今回の実行で暗号化し直したAES鍵の数を返します。
+     * 
+     * @return AES鍵の数
+     * @since 1.10
+     */
+    public long getRewrappedKeyCount() {
+        return rewrappedKeyCount;
+    }
+
+    /**
+     * メイン関数。以下の引数でジョブを実行します。
+     * 旧キーストアのパスワードと秘密鍵のパスワードは、コマンドラインに残らないように標準入力から1行ずつ読み込みます。
+     * <pre>
+     * KeyRewrapJob 入力ファイル 出力ファイル チェックポイント・ファイル 新しい公開鍵(PKCS#8 DER)
+     *              旧キーストア 別名 [キーストアのタイプ]
+     * </pre>
+     * 旧キーストアの秘密鍵は、鍵IDを持たないデータの復号にも使用します。
+     * 
+     * @param args コマンドライン引数
+     * @throws Exception ジョブの実行で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 6) {
+            System.err.println("usage: KeyRewrapJob INPUT OUTPUT CHECKPOINT NEW_PUBLIC_KEY_DER OLD_KEYSTORE ALIAS"
+                    + " [STORE_TYPE] (STORE_PASSWORD and KEY_PASSWORD are read from the standard input)");
+            System.exit(2);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String storePassword = reader.readLine();
+        String keyPassword = reader.readLine();
+        if (storePassword == null || keyPassword == null) {
+            System.err.println("STORE_PASSWORD and KEY_PASSWORD must be given in the standard input.");
+            System.exit(2);
+        }
+        String keyStoreType = args.length > 6 ? args[6] : "JCEKS";
+        KeyStoreKeyInfo oldKeyInfo = new KeyStoreKeyInfo(args[5], keyStoreType, args[4], storePassword);
+        KeyRing oldKeys = new KeyRing();
+        oldKeys.add(oldKeyInfo, keyPassword);
+        KeyRewrapJob job = new KeyRewrapJob(oldKeys, new PKCS8KeyInfo(args[3]));
+        job.setLegacyPrivateKey(oldKeyInfo.getPrivateKey(keyPassword));
+        long start = System.nanoTime();
+        job.run(Paths.get(args[0]), Paths.get(args[1]), Paths.get(args[2]));
+        System.out.println("records = " + job.getRecordCount() + ", rewrapped keys = " + job.getRewrappedKeyCount()
+                + ", elapsed = " + (System.nanoTime() - start) / 1000000 + "ms");
+    }
+}
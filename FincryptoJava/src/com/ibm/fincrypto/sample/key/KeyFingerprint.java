@@ -0,0 +1,79 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.key;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+
+/**
+ * RSA公開鍵のフィンガープリントを計算するクラスです。フィンガープリントはX.509形式でエンコードした公開鍵のSHA-256ハッシュ値で、
+ * AES鍵の暗号化に使用したRSA鍵を識別する鍵IDとして暗号化結果データに記録されます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public final class KeyFingerprint {
+
+    /**
+     * 0から15までの数値に対応する文字コードの配列
+     */
+    private static final char[] hexCode = "0123456789abcdef".toCharArray();
+
+    /**
+     * インスタンス化を禁止するためのコンストラクタ。
+     */
+    private KeyFingerprint() {
+    }
+
+    /**
+     * RSA公開鍵のフィンガープリントを返します。
+     * 
+     * @param publicKey RSA公開鍵
+     * @return フィンガープリント (32バイト)
+     * @throws GeneralSecurityException ハッシュ値の計算で例外がスローされた場合
+     * @since 1.10
+     */
+    public static byte[] of(PublicKey publicKey) throws GeneralSecurityException {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        return md.digest(publicKey.getEncoded());
+    }
+
+    /**
+     * RSA公開鍵情報のフィンガープリントを返します。
+     * 
+     * @param keyInfo RSA公開鍵情報
+     * @return フィンガープリント (32バイト)
+     * @throws GeneralSecurityException 公開鍵の取得もしくはハッシュ値の計算で例外がスローされた場合
+     * @since 1.10
+     */
+    public static byte[] of(KeyInfo keyInfo) throws GeneralSecurityException {
+        return of(keyInfo.getPublicKey());
+    }
+
+    /**
+     * フィンガープリントの16進数文字列表現を返します。
+     * 
+     * @param fingerprint フィンガープリント
+     * @return 16進数文字列表現 (小文字)
+     * @since 1.10
+     */
+    public static String toHexString(byte[] fingerprint) {
+        StringBuilder sb = new StringBuilder(fingerprint.length * 2);
+        for (byte b : fingerprint) {
+            sb.append(hexCode[(b >> 4) & 0xF]);
+            sb.append(hexCode[b & 0xF]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,195 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.key;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAKey;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 複数のRSA鍵ペアを鍵ID (公開鍵のフィンガープリント) で管理するキーリングです。
+ * 鍵のローテーションを行った後も過去の鍵を保持しておくことで、暗号化結果データに記録された鍵IDから
+ * 復号に使用するRSA秘密鍵をハッシュ表で直接取得できます。保持する鍵の数によらず検索のコストは一定です。
+ * 鍵を削除した場合や同じ鍵IDの秘密鍵を置き換えた場合は、登録された{@link KeyRingListener}に通知します。
+ * このクラスのインスタンスは複数のスレッドから同時に使用できます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class KeyRing {
+
+    /**
+     * 鍵IDからRSA公開鍵情報へのマップ
+     */
+    private final Map<ByteBuffer, KeyInfo> keyInfos = new ConcurrentHashMap<>();
+    /**
+     * 鍵IDからRSA秘密鍵へのマップ
+     */
+    private final Map<ByteBuffer, PrivateKey> privateKeys = new ConcurrentHashMap<>();
+    /**
+     * 鍵の削除と置き換えの通知先
+     */
+    private final List<KeyRingListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * RSA公開鍵情報と対応するRSA秘密鍵を登録します。同じ鍵IDで別の秘密鍵が登録されていた場合は置き換えて、通知先に通知します。
+     * 
+     * @param keyInfo RSA公開鍵情報
+     * @param privateKey RSA秘密鍵
+     * @return 登録した鍵の鍵ID
+     * @throws GeneralSecurityException 公開鍵の取得で例外がスローされた場合、もしくは公開鍵と秘密鍵が対応しない場合
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public byte[] add(KeyInfo keyInfo, PrivateKey privateKey)
+            throws GeneralSecurityException, IllegalArgumentException {
+        if (keyInfo == null || privateKey == null) {
+            throw new IllegalArgumentException("keyInfo and privateKey must be not null.");
+        }
+        PublicKey publicKey = keyInfo.getPublicKey();
+        if (publicKey instanceof RSAKey && privateKey instanceof RSAKey
+                && !((RSAKey) publicKey).getModulus().equals(((RSAKey) privateKey).getModulus())) {
+            throw new GeneralSecurityException("the private key does not match the public key.");
+        }
+        byte[] keyId = KeyFingerprint.of(publicKey);
+        ByteBuffer mapKey = ByteBuffer.wrap(keyId.clone());
+        keyInfos.put(mapKey, keyInfo);
+        PrivateKey previous = privateKeys.put(mapKey, privateKey);
+        if (previous != null && previous != privateKey) {
+            fireKeyRemoved(keyId);
+        }
+        return keyId;
+    }
+
+    /**
+     * キーストアに格納されたRSA鍵ペアを登録します。
+     * 
+     * @param keyInfo キーストアのRSA鍵情報
+     * @param keyPassword 秘密鍵を保護するパスワード
+     * @return 登録した鍵の鍵ID
+     * @throws GeneralSecurityException キーストアの処理もしくは鍵の処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public byte[] add(KeyStoreKeyInfo keyInfo, String keyPassword) throws GeneralSecurityException {
+        return add(keyInfo, keyInfo.getPrivateKey(keyPassword));
+    }
+
+    /**
+     * 鍵IDに対応するRSA秘密鍵を返します。
+     * 
+     * @param keyId 鍵ID
+     * @return RSA秘密鍵。登録されていない場合は<code>null</code>
+     * @since 1.10
+     */
+    public PrivateKey getPrivateKey(byte[] keyId) {
+        return keyId == null ? null : privateKeys.get(ByteBuffer.wrap(keyId));
+    }
+
+    /**
+     * 鍵IDに対応するRSA公開鍵情報を返します。
+     * 
+     * @param keyId 鍵ID
+     * @return RSA公開鍵情報。登録されていない場合は<code>null</code>
+     * @since 1.10
+     */
+    public KeyInfo getKeyInfo(byte[] keyId) {
+        return keyId == null ? null : keyInfos.get(ByteBuffer.wrap(keyId));
+    }
+
+    /**
+     * 鍵IDに対応する鍵を削除します。鍵が登録されていた場合は通知先に通知します。
+     * 
+     * @param keyId 鍵ID
+     * @return 鍵が登録されていた場合は<code>true</code>
+     * @since 1.10
+     */
+    public boolean remove(byte[] keyId) {
+        ByteBuffer mapKey = ByteBuffer.wrap(keyId);
+        keyInfos.remove(mapKey);
+        if (privateKeys.remove(mapKey) == null) {
+            return false;
+        }
+        fireKeyRemoved(keyId);
+        return true;
+    }
+
+    /**
+     * 鍵の削除と置き換えの通知先を追加します。
+     * 
+     * @param listener 通知先
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public void addListener(KeyRingListener listener) throws IllegalArgumentException {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener must be not null.");
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * 鍵の削除と置き換えの通知先を削除します。
+     * 
+     * @param listener 通知先
+     * @since 1.10
+     */
+    public void removeListener(KeyRingListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 鍵IDに対応する秘密鍵が削除もしくは置き換えられたことを、すべての通知先に通知します。
+     * 
+     * @param keyId 鍵ID
+     */
+    private void fireKeyRemoved(byte[] keyId) {
+        for (KeyRingListener listener : listeners) {
+            listener.onKeyRemoved(keyId.clone());
+        }
+    }
+
+    /**
+     * 登録されている鍵の数を返します。
+     * 
+     * @return 鍵の数
+     * @since 1.10
+     */
+    public int size() {
+        return privateKeys.size();
+    }
+
+    /**
+     * このインスタンスの文字列表現を返します。文字列表現には登録されている鍵IDの16進数文字列表現が含まれます。
+     * 
+     * @return 文字列表現
+     * @since 1.10
+     */
+    @Override
+    public String toString() {
+        final String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+        for (ByteBuffer keyId : privateKeys.keySet()) {
+            if (sb.length() > 0) {
+                sb.append(nl);
+            }
+            sb.append("keyId = ").append(KeyFingerprint.toHexString(keyId.array()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,30 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.key;
+
+/**
+ * {@link KeyRing}から鍵が削除された場合、もしくは同じ鍵IDの秘密鍵が置き換えられた場合に通知を受けるインターフェースです。
+ * 復号したAES鍵をキャッシュするクラスは、この通知で古い秘密鍵に由来するエントリを破棄します。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public interface KeyRingListener {
+    /**
+     * 鍵IDに対応する秘密鍵が削除もしくは置き換えられたことを通知します。
+     * 
+     * @param keyId 鍵ID
+     * @since 1.10
+     */
+    public void onKeyRemoved(byte[] keyId);
+}
@@ -22,6 +22,8 @@ import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.cert.Certificate;
 
+import com.ibm.fincrypto.sample.jfr.KeyLoadEvent;
+
 /**
  * キーストアに格納されたRSA公開鍵/RSA秘密鍵を保持するクラスです。
  * 
@@ -81,6 +83,8 @@ public class KeyStoreKeyInfo implements KeyInfo {
     @Override
     public PublicKey getPublicKey() throws GeneralSecurityException {
         if (publicKey == null) {
+            KeyLoadEvent event = new KeyLoadEvent();
+            event.begin();
             KeyStore ks = KeyStore.getInstance(keyStoreType);
             try (InputStream is = new FileInputStream(keyStoreFile)){
             	ks.load(is, keyStorePass.toCharArray());
@@ -90,6 +94,7 @@ public class KeyStoreKeyInfo implements KeyInfo {
             // 証明書からRSA公開鍵を取得する
             Certificate certificate = ks.getCertificate(alias);
             publicKey = certificate.getPublicKey();
+            commitKeyLoadEvent(event, "public");
         }
         return publicKey;
     }
@@ -104,6 +109,8 @@ public class KeyStoreKeyInfo implements KeyInfo {
      */
     public PrivateKey getPrivateKey(String keyPassword) throws GeneralSecurityException {
         if (privateKey == null) {
+            KeyLoadEvent event = new KeyLoadEvent();
+            event.begin();
             KeyStore ks = KeyStore.getInstance(keyStoreType);
             try (InputStream is = new FileInputStream(keyStoreFile)){
                 ks.load(is, keyStorePass.toCharArray());
@@ -117,10 +124,27 @@ public class KeyStoreKeyInfo implements KeyInfo {
             } else {
                 throw new GeneralSecurityException("cannot get the private key.");
             }
+            commitKeyLoadEvent(event, "private");
         }
         return privateKey;
     }
 
+    /**
+     * 鍵の読み込みのJFRイベントを記録します。
+     * 
+     * @param event 開始済みのイベント
+     * @param keyType 鍵の種類
+     */
+    private void commitKeyLoadEvent(KeyLoadEvent event, String keyType) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setSourceType("KeyStore(" + keyStoreType + ")");
+            event.setKeyType(keyType);
+            event.setSource(keyStoreFile + "#" + alias);
+            event.commit();
+        }
+    }
+
     /**
      * このインスタンスの文字列表現を返します。文字列表現には以下が含まれます。
      * <ul>
@@ -0,0 +1,220 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.key;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.InvalidParameterException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.PublicKey;
+import java.security.Security;
+import java.security.cert.Certificate;
+
+import com.ibm.fincrypto.sample.jfr.KeyLoadEvent;
+
+/**
+ * PKCS#11トークン (HSM) に格納されたRSA公開鍵/RSA秘密鍵を保持するクラスです。JDKのSunPKCS11プロバイダーを
+ * 設定ファイルで構成し、PKCS11タイプのキーストアとしてトークンにログインします。秘密鍵はトークンの外に取り出せないハンドルで、
+ * 暗号化されたAES鍵のRSA復号はトークン内で行われます。複数のスレッドから復号する場合は{@link PKCS11UnwrapPool}を使用します。
+ * <p>
+ * SoftHSMを使用してローカルで動作を確認する手順は以下の通りです。
+ * <pre>
+ * softhsm2-util --init-token --free --label fincrypto --so-pin 1234 --pin 5678
+ * cat &gt; softhsm.cfg &lt;&lt;EOF
+ * name = SoftHSM
+ * library = /usr/lib/softhsm/libsofthsm2.so
+ * slotListIndex = 0
+ * EOF
+ * keytool -importkeystore -srckeystore alice.jck -srcstoretype JCEKS -srcstorepass alicepass -srcalias alice \
+ *     -srckeypass alicepass -destkeystore NONE -deststoretype PKCS11 -deststorepass 5678 \
+ *     -addprovider SunPKCS11 -providerArg softhsm.cfg
+ * echo 5678 | java -cp bin com.ibm.fincrypto.sample.key.PKCS11UnwrapPool softhsm.cfg alice 8 8 100000
+ * </pre>
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class PKCS11KeyInfo implements KeyInfo {
+
+    /**
+     * SunPKCS11プロバイダーの設定ファイルのパス
+     */
+    private final String configFile;
+    /**
+     * トークン上の鍵の別名 (CKA_LABEL)
+     */
+    private final String alias;
+    /**
+     * トークンのユーザーPIN
+     */
+    private final String pin;
+    /**
+     * 設定ファイルで構成したSunPKCS11プロバイダー
+     */
+    private Provider provider;
+    /**
+     * ログイン済みのPKCS11キーストア
+     */
+    private KeyStore keyStore;
+    /**
+     * RSA公開鍵
+     */
+    private PublicKey publicKey;
+    /**
+     * RSA秘密鍵 (トークン上の鍵のハンドル)
+     */
+    private PrivateKey privateKey;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param configFile SunPKCS11プロバイダーの設定ファイルのパス
+     * @param alias トークン上の鍵の別名
+     * @param pin トークンのユーザーPIN
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public PKCS11KeyInfo(String configFile, String alias, String pin) throws IllegalArgumentException {
+        if (configFile == null || alias == null || pin == null) {
+            throw new IllegalArgumentException("configFile, alias and pin must be not null.");
+        }
+        this.configFile = configFile;
+        this.alias = alias;
+        this.pin = pin;
+    }
+
+    /**
+     * 設定ファイルで構成したSunPKCS11プロバイダーを返します。プロバイダーは最初の呼び出しで一度だけ構成し、
+     * <code>Security</code>には登録しません。
+     * 
+     * @return SunPKCS11プロバイダー
+     * @throws GeneralSecurityException SunPKCS11プロバイダーがない場合、もしくは設定ファイルが不正な場合
+     * @since 1.10
+     */
+    public synchronized Provider getProvider() throws GeneralSecurityException {
+        if (provider == null) {
+            Provider sunPKCS11 = Security.getProvider("SunPKCS11");
+            if (sunPKCS11 == null) {
+                throw new GeneralSecurityException("SunPKCS11 provider is not available.");
+            }
+            try {
+                provider = sunPKCS11.configure(configFile);
+            } catch (InvalidParameterException e) {
+                throw new GeneralSecurityException("cannot configure SunPKCS11 with " + configFile, e);
+            }
+        }
+        return provider;
+    }
+
+    /**
+     * トークンにログインしたPKCS11キーストアを返します。
+     * 
+     * @return キーストア
+     * @throws GeneralSecurityException キーストアの処理で例外がスローされた場合
+     */
+    private synchronized KeyStore keyStore() throws GeneralSecurityException {
+        if (keyStore == null) {
+            KeyStore ks = KeyStore.getInstance("PKCS11", getProvider());
+            try {
+                ks.load(null, pin.toCharArray());
+            } catch (IOException e) {
+                throw new GeneralSecurityException("cannot log in to the PKCS#11 token.", e);
+            }
+            keyStore = ks;
+        }
+        return keyStore;
+    }
+
+    /**
+     * トークンから別名として登録されたRSA公開鍵を取得します。公開鍵は秘密鍵と同じ別名の証明書から取得します。
+     * 
+     * @return RSA公開鍵
+     * @throws GeneralSecurityException キーストアの処理で例外がスローされた場合、もしくは別名の証明書がない場合
+     * @since 1.10
+     */
+    @Override
+    public synchronized PublicKey getPublicKey() throws GeneralSecurityException {
+        if (publicKey == null) {
+            KeyLoadEvent event = new KeyLoadEvent();
+            event.begin();
+            Certificate certificate = keyStore().getCertificate(alias);
+            if (certificate == null) {
+                throw new GeneralSecurityException("no certificate for alias " + alias);
+            }
+            publicKey = certificate.getPublicKey();
+            commitKeyLoadEvent(event, "public");
+        }
+        return publicKey;
+    }
+
+    /**
+     * トークンから別名として登録されたRSA秘密鍵のハンドルを取得します。
+     * 
+     * @return RSA秘密鍵
+     * @throws GeneralSecurityException キーストアの処理で例外がスローされた場合、もしくは別名の秘密鍵がない場合
+     * @since 1.10
+     */
+    public synchronized PrivateKey getPrivateKey() throws GeneralSecurityException {
+        if (privateKey == null) {
+            KeyLoadEvent event = new KeyLoadEvent();
+            event.begin();
+            // PKCS#11ではログイン時のPINで保護されているため、鍵ごとのパスワードは不要
+            Key key = keyStore().getKey(alias, null);
+            if (key instanceof PrivateKey) {
+                privateKey = (PrivateKey) key;
+            } else {
+                throw new GeneralSecurityException("cannot get the private key.");
+            }
+            commitKeyLoadEvent(event, "private");
+        }
+        return privateKey;
+    }
+
+    /**
+     * 鍵の読み込みのJFRイベントを記録します。
+     * 
+     * @param event 開始済みのイベント
+     * @param keyType 鍵の種類
+     */
+    private void commitKeyLoadEvent(KeyLoadEvent event, String keyType) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setSourceType("PKCS11");
+            event.setKeyType(keyType);
+            event.setSource(configFile + "#" + alias);
+            event.commit();
+        }
+    }
+
+    /**
+     * このインスタンスの文字列表現を返します。文字列表現には以下が含まれます。PINは含みません。
+     * <ul>
+     * <li>SunPKCS11プロバイダーの設定ファイルのパス
+     * <li>トークン上の鍵の別名
+     * </ul>
+     * 
+     * @return 文字列表現
+     * @since 1.10
+     */
+    @Override
+    public String toString() {
+        final String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+        sb.append("configFile = ").append(configFile).append(nl);
+        sb.append("alias = ").append(alias);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,256 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.key;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.Cipher;
+
+/**
+ * PKCS#11トークン上のRSA秘密鍵で暗号化されたAES鍵を、複数のスレッドから同時に復号するためのプールです。
+ * <p>
+ * 秘密鍵で初期化済みの<code>Cipher</code>を指定された数だけ用意し、復号のたびに1つを借りて返します。
+ * SunPKCS11はトークンのセッションを操作の間だけ確保してプロバイダー内でプールするため、同時に実行される復号の数、
+ * すなわち使用するセッションの数はこのプールの大きさで決まります。トークンが並列に処理できる数 (HSMのコア数やセッションの上限)
+ * に合わせて大きさを指定すると、RSA復号のスループットはその数まで増えます。空いている<code>Cipher</code>がない場合は
+ * 返却されるまで待ちます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class PKCS11UnwrapPool {
+
+    /**
+     * RSA復号のアルゴリズム
+     */
+    public static final String ALGORITHM = "RSA/ECB/PKCS1Padding";
+
+    /**
+     * RSA秘密鍵
+     */
+    private final PrivateKey privateKey;
+    /**
+     * 空いている<code>Cipher</code>
+     */
+    private final BlockingQueue<Cipher> ciphers;
+    /**
+     * プールの大きさ
+     */
+    private final int size;
+    /**
+     * 復号の回数
+     */
+    private final LongAdder unwrapCount = new LongAdder();
+    /**
+     * 空いている<code>Cipher</code>がなく待った回数
+     */
+    private final LongAdder waitCount = new LongAdder();
+
+    /**
+     * コンストラクタ。PKCS#11トークンのRSA秘密鍵で初期化した<code>Cipher</code>を指定された数だけ用意します。
+     * 
+     * @param keyInfo PKCS#11トークンのRSA鍵情報
+     * @param size プールの大きさ (同時に実行する復号の数)
+     * @throws GeneralSecurityException トークンへのログイン、秘密鍵の取得、もしくは<code>Cipher</code>の初期化で例外がスローされた場合
+     * @throws IllegalArgumentException 鍵情報に<code>null</code>もしくは大きさに正でない値が指定された場合
+     * @since 1.10
+     */
+    public PKCS11UnwrapPool(PKCS11KeyInfo keyInfo, int size)
+            throws GeneralSecurityException, IllegalArgumentException {
+        this(requireKeyInfo(keyInfo).getPrivateKey(), keyInfo.getProvider(), size);
+    }
+
+    /**
+     * 鍵情報が<code>null</code>でないことを確認します。
+     * 
+     * @param keyInfo PKCS#11トークンのRSA鍵情報
+     * @return 引数の鍵情報
+     * @throws IllegalArgumentException 鍵情報に<code>null</code>が指定された場合
+     */
+    private static PKCS11KeyInfo requireKeyInfo(PKCS11KeyInfo keyInfo) throws IllegalArgumentException {
+        if (keyInfo == null) {
+            throw new IllegalArgumentException("keyInfo must be not null.");
+        }
+        return keyInfo;
+    }
+
+    /**
+     * コンストラクタ。指定されたプロバイダーのRSA秘密鍵で初期化した<code>Cipher</code>を指定された数だけ用意します。
+     * 
+     * @param privateKey RSA秘密鍵
+     * @param provider <code>Cipher</code>を提供するプロバイダー
+     * @param size プールの大きさ
+     * @throws GeneralSecurityException <code>Cipher</code>の生成もしくは初期化で例外がスローされた場合
+     * @throws IllegalArgumentException 引数に<code>null</code>もしくは大きさに正でない値が指定された場合
+     */
+    PKCS11UnwrapPool(PrivateKey privateKey, Provider provider, int size)
+            throws GeneralSecurityException, IllegalArgumentException {
+        if (privateKey == null || provider == null) {
+            throw new IllegalArgumentException("privateKey and provider must be not null.");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive.");
+        }
+        this.privateKey = privateKey;
+        this.size = size;
+        this.ciphers = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            Cipher cipher = Cipher.getInstance(ALGORITHM, provider);
+            cipher.init(Cipher.DECRYPT_MODE, privateKey);
+            ciphers.add(cipher);
+        }
+    }
+
+    /**
+     * RSA公開鍵で暗号化されたAES鍵をトークン上のRSA秘密鍵で復号します。
+     * 
+     * @param encryptedKey 暗号化されたAES鍵
+     * @return AES鍵のバイト列
+     * @throws GeneralSecurityException 復号処理で例外がスローされた場合、もしくは待機中に割り込まれた場合
+     * @since 1.10
+     */
+    public byte[] unwrap(byte[] encryptedKey) throws GeneralSecurityException {
+        Cipher cipher = ciphers.poll();
+        if (cipher == null) {
+            waitCount.increment();
+            try {
+                cipher = ciphers.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GeneralSecurityException("interrupted while waiting for a PKCS#11 session.", e);
+            }
+        }
+        boolean completed = false;
+        try {
+            byte[] key = cipher.doFinal(encryptedKey);
+            completed = true;
+            unwrapCount.increment();
+            return key;
+        } finally {
+            if (!completed) {
+                // 例外がスローされたCipherは再初期化してから返却する
+                try {
+                    cipher.init(Cipher.DECRYPT_MODE, privateKey);
+                } catch (GeneralSecurityException e) {
+                    // 再初期化できない場合は次の復号で例外がスローされる
+                }
+            }
+            ciphers.add(cipher);
+        }
+    }
+
+    /**
+     * プールの大きさを返します。
+     * 
+     * @return プールの大きさ
+     * @since 1.10
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 復号の回数を返します。
+     * 
+     * @return 復号の回数
+     * @since 1.10
+     */
+    public long getUnwrapCount() {
+        return unwrapCount.sum();
+    }
+
+    /**
+     * 空いている<code>Cipher</code>がなく待った回数を返します。復号の回数に対してこの値が大きい場合はプールを大きくします。
+     * 
+     * @return 待った回数
+     * @since 1.10
+     */
+    public long getWaitCount() {
+        return waitCount.sum();
+    }
+
+    /**
+     * メイン関数。以下の引数でPKCS#11トークン上のRSA秘密鍵による復号のスループットを測定します。
+     * 乱数のAES鍵をRSA公開鍵で暗号化し、指定された数のスレッドで指定された回数だけ復号します。
+     * トークンのPINは、コマンドラインに残らないように標準入力から1行読み込みます。
+     * <pre>
+     * PKCS11UnwrapPool 設定ファイル 別名 プールの大きさ スレッドの数 復号の回数
+     * </pre>
+     * 
+     * @param args コマンドライン引数
+     * @throws Exception 復号処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("usage: PKCS11UnwrapPool CONFIG ALIAS SESSIONS THREADS COUNT"
+                    + " (PIN is read from the standard input)");
+            System.exit(2);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String pin = reader.readLine();
+        if (pin == null) {
+            System.err.println("PIN must be given in the standard input.");
+            System.exit(2);
+        }
+        PKCS11KeyInfo keyInfo = new PKCS11KeyInfo(args[0], args[1], pin);
+        final PKCS11UnwrapPool pool = new PKCS11UnwrapPool(keyInfo, Integer.parseInt(args[2]));
+        int threads = Integer.parseInt(args[3]);
+        final int count = Integer.parseInt(args[4]);
+
+        // 公開鍵による暗号化はトークンを使用せずにソフトウェアで行う
+        byte[] aesKey = new byte[16];
+        new SecureRandom().nextBytes(aesKey);
+        Cipher rsa = Cipher.getInstance(ALGORITHM);
+        rsa.init(Cipher.ENCRYPT_MODE, keyInfo.getPublicKey());
+        final byte[] encryptedKey = rsa.doFinal(aesKey);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Void>> futures = new ArrayList<>(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            final int share = count / threads + (t < count % threads ? 1 : 0);
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < share; i++) {
+                    pool.unwrap(encryptedKey);
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println("sessions = " + pool.getSize() + ", threads = " + threads + ", unwraps = "
+                + pool.getUnwrapCount() + ", waits = " + pool.getWaitCount() + ", elapsed = " + elapsed / 1000000
+                + "ms, throughput = " + String.format("%.1f", count * 1e9 / elapsed) + "/s");
+    }
+}
@@ -21,6 +21,8 @@ import java.security.PublicKey;
 import java.security.spec.KeySpec;
 import java.security.spec.X509EncodedKeySpec;
 
+import com.ibm.fincrypto.sample.jfr.KeyLoadEvent;
+
 /**
  * PKCS#8 DER形式のRSA公開鍵を保持するクラスです。
  * 
@@ -76,10 +78,19 @@ public class PKCS8KeyInfo implements KeyInfo {
     @Override
     public PublicKey getPublicKey() throws GeneralSecurityException {
         if (publicKey == null) {
+            KeyLoadEvent event = new KeyLoadEvent();
+            event.begin();
             KeySpec keySpec = new X509EncodedKeySpec(bytes);
             // KeySpecからRSA公開鍵を復元する
             KeyFactory factory = KeyFactory.getInstance("RSA");
             publicKey = factory.generatePublic(keySpec);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setSourceType("PKCS8");
+                event.setKeyType("public");
+                event.setSource(keyFilename);
+                event.commit();
+            }
         }
         return publicKey;
     }
@@ -18,6 +18,8 @@ import java.security.KeyFactory;
 import java.security.PublicKey;
 import java.security.spec.RSAPublicKeySpec;
 
+import com.ibm.fincrypto.sample.jfr.KeyLoadEvent;
+
 /**
  * modulusとpublic exponentのペアで表されたRSA公開鍵を保持するクラスです。
  * 
@@ -88,11 +90,19 @@ public class PairValueKeyInfo implements KeyInfo {
     @Override
     public PublicKey getPublicKey() throws GeneralSecurityException {
         if (publicKey == null) {
+            KeyLoadEvent event = new KeyLoadEvent();
+            event.begin();
             RSAPublicKeySpec publicKeySpec = new RSAPublicKeySpec(modulus, publicExponent);
 
             // KeySpecから、公開RSAキーを復元する.
             KeyFactory keyFactory = KeyFactory.getInstance("RSA");
             publicKey = keyFactory.generatePublic(publicKeySpec);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setSourceType("PairValue");
+                event.setKeyType("public");
+                event.commit();
+            }
         }
         return publicKey;
     }
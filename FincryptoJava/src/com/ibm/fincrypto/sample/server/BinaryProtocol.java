@@ -0,0 +1,247 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.EncryptionOutputDataIO;
+
+/**
+ * 暗号化サービスのリクエストとレスポンスのボディを変換するクラスです。ボディは以下のいずれかの形式で、
+ * 1つのボディに複数のデータを連続して格納します。
+ * <ul>
+ * <li>フレーム: データの長さ (4バイト) とその値。平文および復号結果に使用します。
+ * <li>暗号化結果データ: {@link EncryptionOutputDataIO}の形式。暗号化結果および復号対象に使用します。
+ * </ul>
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+final class BinaryProtocol {
+
+    /**
+     * ボディのContent-Type
+     */
+    static final String CONTENT_TYPE = "application/octet-stream";
+
+    /**
+     * インスタンス化を禁止するためのコンストラクタ。
+     */
+    private BinaryProtocol() {
+    }
+
+    /**
+     * フレームの並びをボディに変換します。
+     * 
+     * @param frames フレームの値のリスト
+     * @return ボディ
+     */
+    static byte[] writeFrames(List<byte[]> frames) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bos);
+        try {
+            for (byte[] frame : frames) {
+                out.writeInt(frame.length);
+                out.write(frame);
+            }
+        } catch (IOException e) {
+            // ByteArrayOutputStreamへの書き込みでは発生しない
+            throw new IllegalStateException(e);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * ボディからフレームの並びを読み込みます。フレームの長さは領域を確保する前に上限と比較します。
+     * 
+     * @param body ボディの入力元
+     * @param maxFrameLength フレームの長さの上限 (バイト)
+     * @return フレームの値のリスト
+     * @throws IOException 読み込みで例外がスローされた場合、もしくは形式が不正な場合
+     * @throws TooLargeException フレームの長さが上限を超える場合
+     */
+    static List<byte[]> readFrames(InputStream body, int maxFrameLength) throws IOException, TooLargeException {
+        DataInputStream in = new DataInputStream(body);
+        List<byte[]> frames = new ArrayList<>();
+        int b;
+        while ((b = in.read()) >= 0) {
+            int length = (b << 24) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8)
+                    | in.readUnsignedByte();
+            if (length < 0) {
+                throw new IOException("invalid frame length: " + length);
+            }
+            if (length > maxFrameLength) {
+                throw new TooLargeException("frame length " + length + " exceeds the limit of " + maxFrameLength
+                        + " bytes.");
+            }
+            byte[] frame = new byte[length];
+            in.readFully(frame);
+            frames.add(frame);
+        }
+        return frames;
+    }
+
+    /**
+     * 暗号化結果データの並びをボディに変換します。
+     * 
+     * @param records 暗号化結果データのリスト
+     * @return ボディ
+     */
+    static byte[] writeRecords(List<EncryptionOutputData> records) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bos);
+        try {
+            for (EncryptionOutputData record : records) {
+                EncryptionOutputDataIO.write(out, record);
+            }
+        } catch (IOException e) {
+            // ByteArrayOutputStreamへの書き込みでは発生しない
+            throw new IllegalStateException(e);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * ボディから暗号化結果データの並びを読み込みます。暗号化されたデータの長さは領域を確保する前に上限と比較します。
+     * 
+     * @param body ボディの入力元
+     * @param maxCipherTextLength 暗号化されたデータの長さの上限 (バイト)
+     * @return 暗号化結果データのリスト
+     * @throws IOException 読み込みで例外がスローされた場合、もしくは形式が不正な場合、もしくは長さが上限を超える場合
+     */
+    static List<EncryptionOutputData> readRecords(InputStream body, int maxCipherTextLength) throws IOException {
+        DataInputStream in = new DataInputStream(body);
+        List<EncryptionOutputData> records = new ArrayList<>();
+        EncryptionOutputData record;
+        while ((record = EncryptionOutputDataIO.read(in, maxCipherTextLength)) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    /**
+     * 指定されたバイト数を超えて読み込もうとした場合に{@link TooLargeException}をスローする入力元を返します。
+     * 
+     * @param body ボディの入力元
+     * @param maxSize 読み込めるバイト数の上限
+     * @return 上限のある入力元
+     */
+    static InputStream limit(InputStream body, long maxSize) {
+        return new LimitedInputStream(body, maxSize);
+    }
+
+    /**
+     * ボディもしくはフレームが上限を超える場合にスローされる例外です。
+     * 
+     * @version 1.10, 2026/10/18
+     * @since 1.10
+     */
+    static final class TooLargeException extends IOException {
+
+        /**
+         * シリアル・バージョンID
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * コンストラクタ。
+         * 
+         * @param message メッセージ
+         */
+        TooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 読み込めるバイト数に上限のある入力元です。
+     * 
+     * @version 1.10, 2026/10/18
+     * @since 1.10
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        /**
+         * 読み込めるバイト数の上限
+         */
+        private final long maxSize;
+        /**
+         * 読み込めるバイト数の残り
+         */
+        private long remaining;
+
+        /**
+         * コンストラクタ。
+         * 
+         * @param in 入力元
+         * @param maxSize 読み込めるバイト数の上限
+         */
+        LimitedInputStream(InputStream in, long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+            this.remaining = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            // 上限に達した後も1バイトは読み込み、終端かどうかを確認する
+            int n = in.read(b, off, (int) Math.min(len, remaining + 1));
+            if (n > 0) {
+                consume(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, remaining + 1));
+            consume(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /**
+         * 読み込んだバイト数を残りから減らします。
+         * 
+         * @param n 読み込んだバイト数
+         * @throws TooLargeException 上限を超えた場合
+         */
+        private void consume(long n) throws TooLargeException {
+            remaining -= n;
+            if (remaining < 0) {
+                throw new TooLargeException("request body exceeds the limit of " + maxSize + " bytes.");
+            }
+        }
+    }
+}
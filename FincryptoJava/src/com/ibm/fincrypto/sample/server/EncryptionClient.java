@@ -0,0 +1,168 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+
+/**
+ * {@link EncryptionServer}を呼び出すクライアントです。<code>HttpURLConnection</code>を使用し、
+ * レスポンスのボディを最後まで読み込むことで、JDKのkeep-aliveキャッシュにより接続を再利用します。
+ * リクエストのボディはヘッダーと1回で送信されるように、ストリーミングせずにバッファリングします。
+ * このクラスはスレッドセーフです。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class EncryptionClient {
+
+    /**
+     * 暗号化のエンドポイント
+     */
+    private final URL encryptUrl;
+    /**
+     * 復号のエンドポイント
+     */
+    private final URL decryptUrl;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param baseUrl サーバーのURL (例: <code>http://127.0.0.1:8080</code>)
+     * @throws IOException URLが不正な場合
+     * @since 1.10
+     */
+    public EncryptionClient(String baseUrl) throws IOException {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.encryptUrl = new URL(base + "/encrypt");
+        this.decryptUrl = new URL(base + "/decrypt");
+    }
+
+    /**
+     * 平文を暗号化します。
+     * 
+     * @param plainText 平文
+     * @return 暗号化結果データ
+     * @throws IOException 通信で例外がスローされた場合、もしくはサーバーがエラーを返した場合
+     * @since 1.10
+     */
+    public EncryptionOutputData encrypt(String plainText) throws IOException {
+        return encryptAll(Collections.singletonList(plainText)).get(0);
+    }
+
+    /**
+     * 複数の平文を1回のリクエストで暗号化します。
+     * 
+     * @param plainTexts 平文のリスト
+     * @return 暗号化結果データのリスト (平文と同じ順序)
+     * @throws IOException 通信で例外がスローされた場合、もしくはサーバーがエラーを返した場合
+     * @since 1.10
+     */
+    public List<EncryptionOutputData> encryptAll(List<String> plainTexts) throws IOException {
+        List<byte[]> frames = new ArrayList<>(plainTexts.size());
+        for (String plainText : plainTexts) {
+            frames.add(plainText.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] response = post(encryptUrl, BinaryProtocol.writeFrames(frames));
+        List<EncryptionOutputData> records = BinaryProtocol.readRecords(new ByteArrayInputStream(response),
+                response.length);
+        if (records.size() != plainTexts.size()) {
+            throw new IOException("unexpected number of records: " + records.size());
+        }
+        return records;
+    }
+
+    /**
+     * 暗号化結果データを復号します。
+     * 
+     * @param outData 暗号化結果データ
+     * @return 復号されたバイト列
+     * @throws IOException 通信で例外がスローされた場合、もしくはサーバーがエラーを返した場合
+     * @since 1.10
+     */
+    public byte[] decrypt(EncryptionOutputData outData) throws IOException {
+        return decryptAll(Collections.singletonList(outData)).get(0);
+    }
+
+    /**
+     * 複数の暗号化結果データを1回のリクエストで復号します。
+     * 
+     * @param outDataList 暗号化結果データのリスト
+     * @return 復号されたバイト列のリスト (暗号化結果データと同じ順序)
+     * @throws IOException 通信で例外がスローされた場合、もしくはサーバーがエラーを返した場合
+     * @since 1.10
+     */
+    public List<byte[]> decryptAll(List<EncryptionOutputData> outDataList) throws IOException {
+        byte[] response = post(decryptUrl, BinaryProtocol.writeRecords(outDataList));
+        List<byte[]> frames = BinaryProtocol.readFrames(new ByteArrayInputStream(response), response.length);
+        if (frames.size() != outDataList.size()) {
+            throw new IOException("unexpected number of frames: " + frames.size());
+        }
+        return frames;
+    }
+
+    /**
+     * リクエストを送信し、レスポンスのボディを返します。
+     * 
+     * @param url エンドポイント
+     * @param body リクエストのボディ
+     * @return レスポンスのボディ
+     * @throws IOException 通信で例外がスローされた場合、もしくはサーバーがエラーを返した場合
+     */
+    private static byte[] post(URL url, byte[] body) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+        conn.setRequestMethod("POST");
+        conn.setDoOutput(true);
+        conn.setRequestProperty("Content-Type", BinaryProtocol.CONTENT_TYPE);
+        try (OutputStream os = conn.getOutputStream()) {
+            os.write(body);
+        }
+        int status = conn.getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+            InputStream es = conn.getErrorStream();
+            String message = es == null ? "" : new String(readAll(es), StandardCharsets.UTF_8);
+            throw new IOException("server returned " + status + ": " + message);
+        }
+        return readAll(conn.getInputStream());
+    }
+
+    /**
+     * 入力元を最後まで読み込んで閉じます。最後まで読み込むことで接続が再利用可能になります。
+     * 
+     * @param is 入力元
+     * @return 読み込んだバイト列
+     * @throws IOException 読み込みで例外がスローされた場合
+     */
+    private static byte[] readAll(InputStream is) throws IOException {
+        try (InputStream in = is) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) >= 0) {
+                bos.write(buf, 0, n);
+            }
+            return bos.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,447 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.RSADecryptor;
+import com.ibm.fincrypto.sample.key.KeyInfo;
+import com.ibm.fincrypto.sample.key.KeyStoreKeyInfo;
+import com.ibm.fincrypto.sample.key.PKCS8KeyInfo;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 暗号化と復号をHTTPで提供する組み込みサーバーです。JDK標準のHTTPサーバーを使用し、以下のエンドポイントを持ちます。
+ * <ul>
+ * <li><code>POST /encrypt</code>: 平文のフレームの並びを受け取り、暗号化結果データの並びを返します。
+ * <li><code>POST /decrypt</code>: 暗号化結果データの並びを受け取り、復号結果のフレームの並びを返します。
+ * </ul>
+ * ボディの形式は{@link BinaryProtocol}を参照してください。レスポンスは常に長さを指定して返すため、
+ * クライアントはHTTP keep-aliveで接続を再利用できます。
+ * <p>
+ * 複数のクライアントから同時に届いた暗号化の要求は{@link RequestCoalescer}でマイクロバッチにまとめられ、
+ * バッチ内でRSA公開鍵による暗号化を共有します。復号は{@link RSADecryptor}のAES鍵のキャッシュを使用します。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class EncryptionServer {
+
+    /**
+     * マイクロバッチの最大件数のデフォルト値
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+    /**
+     * マイクロバッチを埋めるために後続の要求を待つ時間 (マイクロ秒) のデフォルト値
+     */
+    public static final long DEFAULT_LINGER_MICROS = 0;
+    /**
+     * リクエストを処理するスレッドの数のデフォルト値。
+     * 暗号化のリクエストを処理するスレッドはマイクロバッチの完了を待つため、CPUの数より多くします
+     */
+    public static final int DEFAULT_THREADS = 32;
+    /**
+     * リクエストのボディの最大バイト数のデフォルト値 (8MiB)
+     */
+    public static final int DEFAULT_MAX_REQUEST_SIZE = 8 * 1024 * 1024;
+
+    static {
+        // JDK標準のHTTPサーバーはヘッダーとボディを別々に書き込むため、Nagleアルゴリズムと遅延ACKにより
+        // keep-aliveの接続ではレスポンスごとに約40ミリ秒の遅延が発生する。明示的に指定されていなければ無効にする
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    /**
+     * 待ち受けアドレス
+     */
+    private final InetSocketAddress address;
+    /**
+     * 暗号化に使用するRSA公開鍵情報
+     */
+    private final KeyInfo keyInfo;
+    /**
+     * 復号に使用するオブジェクト
+     */
+    private final RSADecryptor decryptor;
+    /**
+     * リクエストを処理するスレッドの数
+     */
+    private int threads = DEFAULT_THREADS;
+    /**
+     * マイクロバッチの最大件数
+     */
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    /**
+     * マイクロバッチを埋めるために後続の要求を待つ時間 (マイクロ秒)
+     */
+    private long lingerMicros = DEFAULT_LINGER_MICROS;
+    /**
+     * リクエストのボディの最大バイト数
+     */
+    private int maxRequestSize = DEFAULT_MAX_REQUEST_SIZE;
+    /**
+     * HTTPサーバー
+     */
+    private HttpServer httpServer;
+    /**
+     * リクエストを処理するスレッド・プール
+     */
+    private ExecutorService handlerPool;
+    /**
+     * 暗号化の要求をまとめるオブジェクト
+     */
+    private RequestCoalescer coalescer;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param address 待ち受けアドレス
+     * @param keyInfo 暗号化に使用するRSA公開鍵情報
+     * @param decryptor 復号に使用するオブジェクト
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public EncryptionServer(InetSocketAddress address, KeyInfo keyInfo, RSADecryptor decryptor)
+            throws IllegalArgumentException {
+        if (address == null || keyInfo == null || decryptor == null) {
+            throw new IllegalArgumentException("address, keyInfo and decryptor must be not null.");
+        }
+        this.address = address;
+        this.keyInfo = keyInfo;
+        this.decryptor = decryptor;
+    }
+
+    /**
+     * リクエストを処理するスレッドの数を設定します。{@link #start()}の前に呼び出します。
+     * 
+     * @param threads スレッドの数
+     * @throws IllegalArgumentException 正でない値が指定された場合
+     * @since 1.10
+     */
+    public void setThreads(int threads) throws IllegalArgumentException {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive.");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * 暗号化の要求をまとめる条件を設定します。{@link #start()}の前に呼び出します。
+     * 
+     * @param maxBatchSize マイクロバッチの最大件数 (1の場合はまとめない)
+     * @param lingerMicros マイクロバッチを埋めるために後続の要求を待つ時間 (マイクロ秒、0の場合は待たない)
+     * @throws IllegalArgumentException 範囲外の値が指定された場合
+     * @since 1.10
+     */
+    public void setCoalescing(int maxBatchSize, long lingerMicros) throws IllegalArgumentException {
+        if (maxBatchSize <= 0 || lingerMicros < 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive and lingerMicros must not be negative.");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMicros = lingerMicros;
+    }
+
+    /**
+     * リクエストのボディの最大バイト数を設定します。{@link #start()}の前に呼び出します。
+     * ボディ内の各フレームおよび暗号化されたデータの長さもこの値を上限とし、超える場合は領域を確保する前に
+     * ステータス・コード413を返します。
+     * 
+     * @param maxRequestSize リクエストのボディの最大バイト数
+     * @throws IllegalArgumentException 正でない値が指定された場合
+     * @since 1.10
+     */
+    public void setMaxRequestSize(int maxRequestSize) throws IllegalArgumentException {
+        if (maxRequestSize <= 0) {
+            throw new IllegalArgumentException("maxRequestSize must be positive.");
+        }
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    /**
+     * サーバーを開始します。
+     * 
+     * @throws IOException 待ち受けを開始できない場合
+     * @throws IllegalStateException 既に開始している場合
+     * @since 1.10
+     */
+    public synchronized void start() throws IOException, IllegalStateException {
+        if (httpServer != null) {
+            throw new IllegalStateException("server is already started.");
+        }
+        handlerPool = Executors.newFixedThreadPool(threads);
+        coalescer = new RequestCoalescer(keyInfo, maxBatchSize, lingerMicros,
+                Runtime.getRuntime().availableProcessors());
+        httpServer = HttpServer.create(address, 0);
+        httpServer.createContext("/encrypt", new EncryptHandler(maxRequestSize));
+        httpServer.createContext("/decrypt", new DecryptHandler(maxRequestSize));
+        httpServer.setExecutor(handlerPool);
+        httpServer.start();
+    }
+
+    /**
+     * 待ち受けているアドレスを返します。ポート番号に0を指定した場合に、割り当てられたポート番号を取得するために使用します。
+     * 
+     * @return 待ち受けているアドレス
+     * @throws IllegalStateException 開始していない場合
+     * @since 1.10
+     */
+    public synchronized InetSocketAddress getAddress() throws IllegalStateException {
+        if (httpServer == null) {
+            throw new IllegalStateException("server is not started.");
+        }
+        return httpServer.getAddress();
+    }
+
+    /**
+     * サーバーを停止します。処理中のリクエストは指定された時間まで完了を待ちます。
+     * 
+     * @param delaySeconds 処理中のリクエストの完了を待つ最大の秒数
+     * @since 1.10
+     */
+    public synchronized void stop(int delaySeconds) {
+        if (httpServer == null) {
+            return;
+        }
+        httpServer.stop(delaySeconds);
+        coalescer.close();
+        handlerPool.shutdown();
+        httpServer = null;
+    }
+
+    /**
+     * リクエストのボディを処理してレスポンスを返すハンドラーの共通処理です。
+     * 
+     * @version 1.10, 2026/10/18
+     * @since 1.10
+     */
+    private abstract static class BinaryHandler implements HttpHandler {
+
+        /**
+         * リクエストのボディの最大バイト数
+         */
+        final int maxRequestSize;
+
+        /**
+         * コンストラクタ。
+         * 
+         * @param maxRequestSize リクエストのボディの最大バイト数
+         */
+        BinaryHandler(int maxRequestSize) {
+            this.maxRequestSize = maxRequestSize;
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                if (!"POST".equals(exchange.getRequestMethod())) {
+                    sendError(exchange, 405, "method not allowed.");
+                    return;
+                }
+                String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+                if (contentLength != null && isLongerThan(contentLength, maxRequestSize)) {
+                    sendError(exchange, 413, "request body exceeds the limit of " + maxRequestSize + " bytes.");
+                    return;
+                }
+                byte[] response;
+                try (InputStream body = BinaryProtocol.limit(exchange.getRequestBody(), maxRequestSize)) {
+                    response = process(body);
+                } catch (BinaryProtocol.TooLargeException e) {
+                    sendError(exchange, 413, e.getMessage());
+                    return;
+                } catch (IOException | IllegalArgumentException e) {
+                    sendError(exchange, 400, String.valueOf(e.getMessage()));
+                    return;
+                } catch (GeneralSecurityException e) {
+                    sendError(exchange, 422, String.valueOf(e.getMessage()));
+                    return;
+                }
+                exchange.getResponseHeaders().set("Content-Type", BinaryProtocol.CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, response.length == 0 ? -1 : response.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(response);
+                }
+            } finally {
+                exchange.close();
+            }
+        }
+
+        /**
+         * リクエストのボディを処理します。
+         * 
+         * @param body リクエストのボディ
+         * @return レスポンスのボディ
+         * @throws IOException ボディの形式が不正な場合
+         * @throws GeneralSecurityException 暗号化もしくは復号で例外がスローされた場合
+         */
+        abstract byte[] process(InputStream body) throws IOException, GeneralSecurityException;
+
+        /**
+         * Content-Lengthヘッダーの値が上限を超えるかどうかを返します。数値でない場合はボディを読み込む際に判定します。
+         * 
+         * @param contentLength Content-Lengthヘッダーの値
+         * @param maxSize 上限のバイト数
+         * @return 上限を超える場合は<code>true</code>
+         */
+        private static boolean isLongerThan(String contentLength, long maxSize) {
+            try {
+                return Long.parseLong(contentLength.trim()) > maxSize;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        /**
+         * エラーのレスポンスを返します。ボディはUTF-8のメッセージです。
+         * 
+         * @param exchange HTTPのやり取り
+         * @param status ステータス・コード
+         * @param message メッセージ
+         * @throws IOException レスポンスの出力で例外がスローされた場合
+         */
+        private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+            byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * 暗号化のハンドラーです。
+     * 
+     * @version 1.10, 2026/10/18
+     * @since 1.10
+     */
+    private class EncryptHandler extends BinaryHandler {
+
+        /**
+         * コンストラクタ。
+         * 
+         * @param maxRequestSize リクエストのボディの最大バイト数
+         */
+        EncryptHandler(int maxRequestSize) {
+            super(maxRequestSize);
+        }
+
+        @Override
+        byte[] process(InputStream body) throws IOException, GeneralSecurityException {
+            List<byte[]> frames = BinaryProtocol.readFrames(body, maxRequestSize);
+            List<CompletableFuture<EncryptionOutputData>> futures = new ArrayList<>(frames.size());
+            for (byte[] frame : frames) {
+                futures.add(coalescer.submit(new String(frame, StandardCharsets.UTF_8)));
+            }
+            List<EncryptionOutputData> records = new ArrayList<>(futures.size());
+            try {
+                for (CompletableFuture<EncryptionOutputData> future : futures) {
+                    records.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted.", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof GeneralSecurityException) {
+                    throw (GeneralSecurityException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+            return BinaryProtocol.writeRecords(records);
+        }
+    }
+
+    /**
+     * 復号のハンドラーです。
+     * 
+     * @version 1.10, 2026/10/18
+     * @since 1.10
+     */
+    private class DecryptHandler extends BinaryHandler {
+
+        /**
+         * コンストラクタ。
+         * 
+         * @param maxRequestSize リクエストのボディの最大バイト数
+         */
+        DecryptHandler(int maxRequestSize) {
+            super(maxRequestSize);
+        }
+
+        @Override
+        byte[] process(InputStream body) throws IOException, GeneralSecurityException {
+            List<EncryptionOutputData> records = BinaryProtocol.readRecords(body, maxRequestSize);
+            List<byte[]> frames = new ArrayList<>(records.size());
+            for (EncryptionOutputData record : records) {
+                frames.add(decryptor.decrypt(record));
+            }
+            return BinaryProtocol.writeFrames(frames);
+        }
+    }
+
+    /**
+     * メイン関数。以下の引数でループバック・アドレスにサーバーを開始します。
+     * キーストアのパスワードと秘密鍵のパスワードは、コマンドラインに残らないように標準入力から1行ずつ読み込みます。
+     * <pre>
+     * EncryptionServer ポート番号 公開鍵(PKCS#8 DER) キーストア 別名 [キーストアのタイプ]
+     * </pre>
+     * 
+     * @param args コマンドライン引数
+     * @throws Exception サーバーの開始で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: EncryptionServer PORT PUBLIC_KEY_DER KEYSTORE ALIAS [STORE_TYPE]"
+                    + " (STORE_PASSWORD and KEY_PASSWORD are read from the standard input)");
+            System.exit(2);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String storePassword = reader.readLine();
+        String keyPassword = reader.readLine();
+        if (storePassword == null || keyPassword == null) {
+            System.err.println("STORE_PASSWORD and KEY_PASSWORD must be given in the standard input.");
+            System.exit(2);
+        }
+        String keyStoreType = args.length > 4 ? args[4] : "JCEKS";
+        KeyStoreKeyInfo keyStoreKeyInfo = new KeyStoreKeyInfo(args[3], keyStoreType, args[2], storePassword);
+        final EncryptionServer server = new EncryptionServer(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[0])),
+                new PKCS8KeyInfo(args[1]), new RSADecryptor(keyStoreKeyInfo, keyPassword));
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+        System.out.println("listening on " + server.getAddress());
+    }
+}
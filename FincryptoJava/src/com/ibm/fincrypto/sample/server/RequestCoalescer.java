@@ -0,0 +1,235 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.server;
+
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.RSAEncryptor;
+import com.ibm.fincrypto.sample.key.KeyInfo;
+
+/**
+ * 複数のスレッドから同時に要求された1件ずつの暗号化をまとめて、マイクロバッチとして処理するクラスです。
+ * バッチごとに新しいAES鍵を生成し、RSA公開鍵による暗号化は1回だけ行ってバッチ内のすべてのデータで共有します。
+ * <p>
+ * バッチの暗号化は指定された数のスレッドで並列に実行します。振り分けスレッドは空いているスレッドができるまで待ってから、
+ * その時点までに溜まっている要求を最大件数まで取り出してバッチにします。
+ * 負荷が低い場合は1件ずつ即座に処理され、すべてのスレッドが処理中になるほど負荷が高い場合は、
+ * 処理中に届いた要求がまとめて次のバッチになります。
+ * 待ち時間を指定した場合は、バッチが最大件数に満たない間、その時間だけ後続の要求を待ちます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class RequestCoalescer implements AutoCloseable {
+
+    /**
+     * RSA公開鍵情報
+     */
+    private final KeyInfo keyInfo;
+    /**
+     * バッチの最大件数
+     */
+    private final int maxBatchSize;
+    /**
+     * バッチを埋めるために後続の要求を待つ時間 (ナノ秒)
+     */
+    private final long lingerNanos;
+    /**
+     * バッチの暗号化を実行するスレッド・プール
+     */
+    private final ExecutorService workers;
+    /**
+     * 空いているバッチの暗号化スレッド
+     */
+    private final Semaphore idleWorkers;
+    /**
+     * 処理待ちの要求
+     */
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    /**
+     * 要求をバッチにまとめる振り分けスレッド
+     */
+    private final Thread dispatcher;
+    /**
+     * 停止が要求された場合は<code>true</code>
+     */
+    private volatile boolean closed = false;
+
+    /**
+     * コンストラクタ。振り分けスレッドを開始します。
+     * 
+     * @param keyInfo RSA公開鍵情報
+     * @param maxBatchSize バッチの最大件数
+     * @param lingerMicros バッチを埋めるために後続の要求を待つ時間 (マイクロ秒、0の場合は待たない)
+     * @param parallelism バッチの暗号化を実行するスレッドの数
+     * @throws IllegalArgumentException 引数に<code>null</code>もしくは範囲外の値が指定された場合
+     * @since 1.10
+     */
+    public RequestCoalescer(KeyInfo keyInfo, int maxBatchSize, long lingerMicros, int parallelism)
+            throws IllegalArgumentException {
+        if (keyInfo == null) {
+            throw new IllegalArgumentException("keyInfo must be not null.");
+        }
+        if (maxBatchSize <= 0 || lingerMicros < 0 || parallelism <= 0) {
+            throw new IllegalArgumentException(
+                    "maxBatchSize and parallelism must be positive and lingerMicros must not be negative.");
+        }
+        this.keyInfo = keyInfo;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MICROSECONDS.toNanos(lingerMicros);
+        this.workers = Executors.newFixedThreadPool(parallelism);
+        this.idleWorkers = new Semaphore(parallelism);
+        this.dispatcher = new Thread(this::dispatch, "fincrypto-coalescer");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * 平文の暗号化を要求します。
+     * 
+     * @param plainText 平文
+     * @return 暗号化結果データを返す<code>CompletableFuture</code>
+     * @throws IllegalStateException 停止している場合
+     * @since 1.10
+     */
+    public CompletableFuture<EncryptionOutputData> submit(String plainText) throws IllegalStateException {
+        if (closed) {
+            throw new IllegalStateException("coalescer is closed.");
+        }
+        Request request = new Request(plainText);
+        queue.add(request);
+        // 追加と同時に停止された場合、振り分けスレッドが既に終了していると要求が完了しないため取り消す。
+        // 取り消せない場合は振り分けスレッドが取り出しており、暗号化もしくは停止時に失敗として完了する
+        if (closed && queue.remove(request)) {
+            throw new IllegalStateException("coalescer is closed.");
+        }
+        return request.result;
+    }
+
+    /**
+     * 要求をバッチにまとめて、スレッド・プールに渡します。
+     */
+    private void dispatch() {
+        try {
+            while (!closed || !queue.isEmpty()) {
+                // すべてのスレッドが処理中の間は、要求をキューに溜めて次のバッチにまとめる
+                idleWorkers.acquire();
+                Request first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    idleWorkers.release();
+                    continue;
+                }
+                final List<Request> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize && lingerNanos > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    Request next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+                workers.execute(() -> {
+                    try {
+                        encryptBatch(batch);
+                    } finally {
+                        idleWorkers.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // 処理されずに残った要求は失敗させる
+            Request request;
+            while ((request = queue.poll()) != null) {
+                request.result.completeExceptionally(new IllegalStateException("coalescer is closed."));
+            }
+        }
+    }
+
+    /**
+     * バッチ内のデータを1つのAES鍵で暗号化します。
+     * 
+     * @param batch バッチ
+     */
+    private void encryptBatch(List<Request> batch) {
+        // バッチごとにAES鍵を生成し、RSA公開鍵による暗号化はバッチ内で1回だけ行われる
+        RSAEncryptor encryptor = new RSAEncryptor(keyInfo);
+        for (Request request : batch) {
+            try {
+                request.result.complete(encryptor.encryptData(request.plainText, null));
+            } catch (GeneralSecurityException | RuntimeException e) {
+                request.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * 新しい要求の受け付けを停止し、受け付け済みの要求の暗号化が完了するまで待ってからスレッドを終了します。
+     * 終了を待つ間に割り込まれた場合は、割り込み状態を設定して戻ります。
+     * 
+     * @since 1.10
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            dispatcher.join();
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 暗号化の要求です。
+     * 
+     * @version 1.10, 2026/10/18
+     * @since 1.10
+     */
+    private static class Request {
+        /**
+         * 平文
+         */
+        private final String plainText;
+        /**
+         * 暗号化結果データ
+         */
+        private final CompletableFuture<EncryptionOutputData> result = new CompletableFuture<>();
+
+        /**
+         * コンストラクタ。
+         * 
+         * @param plainText 平文
+         */
+        Request(String plainText) {
+            this.plainText = plainText;
+        }
+    }
+}
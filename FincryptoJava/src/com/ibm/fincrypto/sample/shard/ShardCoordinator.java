@@ -0,0 +1,233 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.shard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * シャードごとに{@link ShardWorker}を別のJVMとして起動して並列に復号し、復号結果をデータの順に1つのファイルに結合するクラスです。
+ * <p>
+ * ワーカーは現在のJVMと同じ<code>java</code>コマンドとクラスパスで起動し、キーストアのパスワードと秘密鍵のパスワードは
+ * ワーカーの標準入力に渡します。同じマシンで動作を確認できますが、ワーカーを起動するコマンドを置き換えれば
+ * 他のノードで復号することもできます。いずれかのワーカーが失敗した場合は結合を行わずに例外をスローします。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class ShardCoordinator {
+
+    /**
+     * マニフェストのファイル
+     */
+    private final Path manifestFile;
+    /**
+     * 同時に起動するワーカーの最大数
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param manifestFile マニフェストのファイル
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public ShardCoordinator(Path manifestFile) throws IllegalArgumentException {
+        if (manifestFile == null) {
+            throw new IllegalArgumentException("manifestFile must be not null.");
+        }
+        this.manifestFile = manifestFile.toAbsolutePath();
+    }
+
+    /**
+     * 同時に起動するワーカーの最大数を設定します。
+     * 
+     * @param parallelism ワーカーの数
+     * @throws IllegalArgumentException 正でない値が指定された場合
+     * @since 1.10
+     */
+    public void setParallelism(int parallelism) throws IllegalArgumentException {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive.");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * すべてのシャードを復号し、1つのファイルに結合します。
+     * 
+     * @param output 復号した平文を書き込むファイル
+     * @param keyStoreFile キーストアのファイル
+     * @param alias 秘密鍵の別名
+     * @param keyStoreType キーストアのタイプ
+     * @param storePassword キーストアのパスワード
+     * @param keyPassword 秘密鍵のパスワード
+     * @return 復号したデータの件数
+     * @throws IOException ワーカーの起動やファイルの入出力で例外がスローされた場合、もしくはいずれかのワーカーが失敗した場合
+     * @since 1.10
+     */
+    public long decrypt(Path output, String keyStoreFile, String alias, String keyStoreType,
+            final String storePassword, final String keyPassword) throws IOException {
+        ShardManifest manifest = ShardManifest.load(manifestFile);
+        int count = manifest.getShards().size();
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+        List<Path> parts = new ArrayList<>(count);
+        List<Callable<Void>> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            Path part = output.toAbsolutePath().resolveSibling(output.getFileName() + String.format(".part-%05d", i));
+            parts.add(part);
+            final ProcessBuilder builder = new ProcessBuilder(java, "-cp", classPath, ShardWorker.class.getName(),
+                    manifestFile.toString(), Integer.toString(i), part.toString(), keyStoreFile, alias, keyStoreType)
+                            .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                            .redirectError(ProcessBuilder.Redirect.INHERIT);
+            tasks.add(() -> {
+                runWorker(builder, index, storePassword, keyPassword);
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, count)));
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            // 実行中のワーカーを停止してから、途中まで書き込まれた復号結果を削除する
+            executor.shutdownNow();
+            IOException exception = new IOException("interrupted while waiting for workers.", e);
+            deleteParts(parts, exception);
+            Thread.currentThread().interrupt();
+            throw exception;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            IOException exception = cause instanceof IOException ? (IOException) cause
+                    : new IOException("failed to run workers.", cause);
+            deleteParts(parts, exception);
+            throw exception;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // シャードの順に復号結果を結合する
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Path part : parts) {
+                try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = in.size();
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+            out.force(true);
+        }
+        for (Path part : parts) {
+            Files.delete(part);
+        }
+        return manifest.getRecordCount();
+    }
+
+    /**
+     * シャードごとの復号結果のファイルを削除します。削除に失敗した場合は、スローする例外に抑制された例外として追加します。
+     * 
+     * @param parts シャードごとの復号結果のファイル
+     * @param exception スローする例外
+     */
+    private static void deleteParts(List<Path> parts, IOException exception) {
+        for (Path part : parts) {
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException e) {
+                exception.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * ワーカーを起動し、終了を待ちます。
+     * 
+     * @param builder ワーカーのプロセスの設定
+     * @param index シャード番号
+     * @param storePassword キーストアのパスワード
+     * @param keyPassword 秘密鍵のパスワード
+     * @throws IOException ワーカーの起動で例外がスローされた場合、もしくはワーカーが異常終了した場合
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    private static void runWorker(ProcessBuilder builder, int index, String storePassword, String keyPassword)
+            throws IOException, InterruptedException {
+        Process process = builder.start();
+        try {
+            try (OutputStream stdin = process.getOutputStream()) {
+                stdin.write((storePassword + "\n" + keyPassword + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IOException("worker for shard " + index + " failed with exit code " + exitCode + ".");
+            }
+        } finally {
+            process.destroy();
+        }
+    }
+
+    /**
+     * メイン関数。以下の引数ですべてのシャードを復号します。キーストアのパスワードと秘密鍵のパスワードは、
+     * プロセスの一覧に表示されないよう標準入力から1行ずつ読み込みます。
+     * <pre>
+     * ShardCoordinator マニフェスト 出力ファイル ワーカーの数 キーストア 別名 [キーストアのタイプ]
+     * </pre>
+     * 
+     * @param args コマンドライン引数
+     * @throws Exception 復号処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("usage: ShardCoordinator MANIFEST OUTPUT WORKERS KEYSTORE ALIAS [STORE_TYPE]"
+                    + " (STORE_PASSWORD and KEY_PASSWORD are read from the standard input)");
+            System.exit(2);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String storePassword = reader.readLine();
+        String keyPassword = reader.readLine();
+        if (storePassword == null || keyPassword == null) {
+            System.err.println("STORE_PASSWORD and KEY_PASSWORD must be given in the standard input.");
+            System.exit(2);
+        }
+        ShardCoordinator coordinator = new ShardCoordinator(Paths.get(args[0]));
+        coordinator.setParallelism(Integer.parseInt(args[2]));
+        String keyStoreType = args.length > 5 ? args[5] : "JCEKS";
+        long start = System.nanoTime();
+        long count = coordinator.decrypt(Paths.get(args[1]), args[3], args[4], keyStoreType, storePassword,
+                keyPassword);
+        System.out.println("records = " + count + ", elapsed = " + (System.nanoTime() - start) / 1000000 + "ms");
+    }
+}
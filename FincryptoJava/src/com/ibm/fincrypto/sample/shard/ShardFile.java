@@ -0,0 +1,119 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.shard;
+
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.ibm.fincrypto.sample.EncryptionOutputDataIO;
+
+/**
+ * シャード・ファイルのヘッダーを保持するクラスです。シャード・ファイルは以下の構成になります。
+ * <ul>
+ * <li>マジック・ナンバー "FCSH" (4バイト)
+ * <li>形式のバージョン (1バイト)
+ * <li>シャード番号 (4バイト)
+ * <li>鍵IDの長さ (1バイト) とその値
+ * <li>RSA公開鍵で暗号化されたAES鍵の長さ (2バイト) とその値
+ * <li>{@link EncryptionOutputDataIO}の形式の暗号化結果データ (すべてヘッダーのAES鍵で暗号化されている)
+ * </ul>
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+final class ShardFile {
+
+    /**
+     * マジック・ナンバー ("FCSH")
+     */
+    private static final int MAGIC = 0x46435348;
+    /**
+     * 形式のバージョン
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * シャード番号
+     */
+    final int index;
+    /**
+     * AES鍵の暗号化に使用したRSA公開鍵の鍵ID
+     */
+    final byte[] keyId;
+    /**
+     * RSA公開鍵で暗号化されたAES鍵
+     */
+    final byte[] encryptedKey;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param index シャード番号
+     * @param keyId 鍵ID
+     * @param encryptedKey RSA公開鍵で暗号化されたAES鍵
+     */
+    ShardFile(int index, byte[] keyId, byte[] encryptedKey) {
+        this.index = index;
+        this.keyId = keyId;
+        this.encryptedKey = encryptedKey;
+    }
+
+    /**
+     * シャード番号に対応するファイル名を返します。
+     * 
+     * @param index シャード番号
+     * @return ファイル名
+     */
+    static String fileName(int index) {
+        return String.format("shard-%05d.bin", index);
+    }
+
+    /**
+     * ヘッダーを書き込みます。
+     * 
+     * @param out 出力先
+     * @throws IOException 出力で例外がスローされた場合
+     */
+    void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(index);
+        out.writeByte(keyId.length);
+        out.write(keyId);
+        out.writeShort(encryptedKey.length);
+        out.write(encryptedKey);
+    }
+
+    /**
+     * ヘッダーを読み込みます。
+     * 
+     * @param in 入力元
+     * @return ヘッダー
+     * @throws IOException 入力で例外がスローされた場合、もしくはシャード・ファイルの形式が不正な場合
+     */
+    static ShardFile read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a shard file.");
+        }
+        if (in.readByte() != VERSION) {
+            throw new IOException("unsupported shard file version.");
+        }
+        int index = in.readInt();
+        byte[] keyId = new byte[in.readUnsignedByte()];
+        in.readFully(keyId);
+        byte[] encryptedKey = new byte[in.readUnsignedShort()];
+        in.readFully(encryptedKey);
+        return new ShardFile(index, keyId, encryptedKey);
+    }
+}
@@ -0,0 +1,235 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.shard;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import com.ibm.fincrypto.sample.job.Checkpoint;
+
+/**
+ * シャードに分割した暗号化結果の一覧です。シャードごとにファイル名、データの範囲、ファイル全体のSHA-256ハッシュ値、
+ * 鍵IDを保持し、シャード・ファイルと同じディレクトリにプロパティー形式で保存します。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class ShardManifest {
+
+    /**
+     * マニフェストのファイル名
+     */
+    public static final String FILE_NAME = "manifest.properties";
+
+    /**
+     * シャードの一覧 (データの順)
+     */
+    private final List<Shard> shards;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param shards シャードの一覧 (データの順)
+     */
+    ShardManifest(List<Shard> shards) {
+        this.shards = Collections.unmodifiableList(new ArrayList<>(shards));
+    }
+
+    /**
+     * シャードの一覧を返します。
+     * 
+     * @return シャードの一覧 (データの順)
+     * @since 1.10
+     */
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    /**
+     * すべてのシャードのデータの件数を返します。
+     * 
+     * @return データの件数
+     * @since 1.10
+     */
+    public long getRecordCount() {
+        long count = 0;
+        for (Shard shard : shards) {
+            count += shard.getRecordCount();
+        }
+        return count;
+    }
+
+    /**
+     * マニフェストを保存します。{@link Checkpoint}と同じく、一時ファイルへの書き込みとアトミックなリネームで保存します。
+     * 
+     * @param file マニフェストのファイル
+     * @throws IOException ファイルの出力で例外がスローされた場合
+     * @since 1.10
+     */
+    public void save(Path file) throws IOException {
+        Properties props = new Properties();
+        props.setProperty("shards", Integer.toString(shards.size()));
+        props.setProperty("records", Long.toString(getRecordCount()));
+        for (int i = 0; i < shards.size(); i++) {
+            Shard shard = shards.get(i);
+            String prefix = "shard." + i + ".";
+            props.setProperty(prefix + "file", shard.getFileName());
+            props.setProperty(prefix + "firstRecord", Long.toString(shard.getFirstRecord()));
+            props.setProperty(prefix + "records", Long.toString(shard.getRecordCount()));
+            props.setProperty(prefix + "sha256", shard.getSha256());
+            props.setProperty(prefix + "keyId", shard.getKeyId());
+        }
+        new Checkpoint(file).save(props);
+    }
+
+    /**
+     * マニフェストを読み込みます。
+     * 
+     * @param file マニフェストのファイル
+     * @return マニフェスト
+     * @throws IOException ファイルの入力で例外がスローされた場合、もしくはマニフェストの内容が不正な場合
+     * @since 1.10
+     */
+    public static ShardManifest load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            throw new IOException("manifest not found: " + file);
+        }
+        Properties props = new Checkpoint(file).load();
+        try {
+            int count = Integer.parseInt(props.getProperty("shards"));
+            List<Shard> shards = new ArrayList<>(count);
+            long next = 0;
+            for (int i = 0; i < count; i++) {
+                String prefix = "shard." + i + ".";
+                Shard shard = new Shard(props.getProperty(prefix + "file"),
+                        Long.parseLong(props.getProperty(prefix + "firstRecord")),
+                        Long.parseLong(props.getProperty(prefix + "records")), props.getProperty(prefix + "sha256"),
+                        props.getProperty(prefix + "keyId"));
+                // シャードのデータの範囲は連続していなければならない
+                if (shard.getFirstRecord() != next || shard.getFileName() == null || shard.getSha256() == null
+                        || shard.getKeyId() == null) {
+                    throw new IOException("corrupted manifest: " + file);
+                }
+                next += shard.getRecordCount();
+                shards.add(shard);
+            }
+            if (next != Long.parseLong(props.getProperty("records"))) {
+                throw new IOException("corrupted manifest: " + file);
+            }
+            return new ShardManifest(shards);
+        } catch (NumberFormatException e) {
+            throw new IOException("corrupted manifest: " + file, e);
+        }
+    }
+
+    /**
+     * 1つのシャードの情報です。
+     * 
+     * @version 1.10, 2026/10/18
+     * @since 1.10
+     */
+    public static class Shard {
+        /**
+         * シャード・ファイルの名前 (マニフェストからの相対パス)
+         */
+        private final String fileName;
+        /**
+         * 最初のデータの番号 (0から始まる)
+         */
+        private final long firstRecord;
+        /**
+         * データの件数
+         */
+        private final long recordCount;
+        /**
+         * シャード・ファイル全体のSHA-256ハッシュ値 (16進数)
+         */
+        private final String sha256;
+        /**
+         * AES鍵の暗号化に使用したRSA公開鍵の鍵ID (16進数)
+         */
+        private final String keyId;
+
+        /**
+         * コンストラクタ。
+         * 
+         * @param fileName シャード・ファイルの名前
+         * @param firstRecord 最初のデータの番号
+         * @param recordCount データの件数
+         * @param sha256 シャード・ファイルのSHA-256ハッシュ値 (16進数)
+         * @param keyId 鍵ID (16進数)
+         */
+        Shard(String fileName, long firstRecord, long recordCount, String sha256, String keyId) {
+            this.fileName = fileName;
+            this.firstRecord = firstRecord;
+            this.recordCount = recordCount;
+            this.sha256 = sha256;
+            this.keyId = keyId;
+        }
+
+        /**
+         * シャード・ファイルの名前を返します。
+         * 
+         * @return マニフェストと同じディレクトリにあるファイルの名前
+         * @since 1.10
+         */
+        public String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * 最初のデータの番号を返します。
+         * 
+         * @return 0から始まる番号
+         * @since 1.10
+         */
+        public long getFirstRecord() {
+            return firstRecord;
+        }
+
+        /**
+         * データの件数を返します。
+         * 
+         * @return データの件数
+         * @since 1.10
+         */
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        /**
+         * シャード・ファイル全体のSHA-256ハッシュ値を返します。
+         * 
+         * @return 16進数の文字列
+         * @since 1.10
+         */
+        public String getSha256() {
+            return sha256;
+        }
+
+        /**
+         * AES鍵の暗号化に使用したRSA公開鍵の鍵IDを返します。
+         * 
+         * @return 16進数の文字列
+         * @since 1.10
+         */
+        public String getKeyId() {
+            return keyId;
+        }
+    }
+}
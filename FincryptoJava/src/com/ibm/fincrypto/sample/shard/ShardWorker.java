@@ -0,0 +1,143 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.shard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.EncryptionOutputDataIO;
+import com.ibm.fincrypto.sample.RSADecryptor;
+import com.ibm.fincrypto.sample.key.KeyFingerprint;
+import com.ibm.fincrypto.sample.key.KeyStoreKeyInfo;
+
+/**
+ * 1つのシャード・ファイルを復号するクラスです。{@link ShardCoordinator}から別のJVMとして起動されます。
+ * <p>
+ * シャード・ファイルのヘッダーがマニフェストのシャード番号と鍵IDに一致し、すべてのデータがヘッダーのAES鍵で暗号化されていることを
+ * 確認しながら、復号した平文を1行に1件ずつ出力します。読み込み終えた時点でファイル全体のSHA-256ハッシュ値とデータの件数を
+ * マニフェストと照合し、一致しない場合は出力を削除して例外をスローします。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public final class ShardWorker {
+
+    /**
+     * インスタンス化を禁止するためのコンストラクタ。
+     */
+    private ShardWorker() {
+    }
+
+    /**
+     * 1つのシャードを復号します。
+     * 
+     * @param manifestFile マニフェストのファイル
+     * @param index シャード番号
+     * @param decryptor 復号に使用する{@link RSADecryptor}
+     * @param output 復号した平文を書き込むファイル
+     * @return 復号したデータの件数
+     * @throws IOException ファイルの入出力で例外がスローされた場合、もしくはシャード・ファイルがマニフェストと一致しない場合
+     * @throws GeneralSecurityException 復号処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public static long decrypt(Path manifestFile, int index, RSADecryptor decryptor, Path output)
+            throws IOException, GeneralSecurityException {
+        ShardManifest manifest = ShardManifest.load(manifestFile);
+        if (index < 0 || index >= manifest.getShards().size()) {
+            throw new IllegalArgumentException("no such shard: " + index);
+        }
+        ShardManifest.Shard shard = manifest.getShards().get(index);
+        Path file = manifestFile.toAbsolutePath().resolveSibling(shard.getFileName());
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        long count = 0;
+        boolean verified = false;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new DigestInputStream(Files.newInputStream(file), digest)));
+                FileOutputStream fos = new FileOutputStream(output.toFile())) {
+            ShardFile header = ShardFile.read(in);
+            if (header.index != index || !KeyFingerprint.toHexString(header.keyId).equals(shard.getKeyId())) {
+                throw new IOException("the shard header does not match the manifest: " + file);
+            }
+            OutputStream out = new BufferedOutputStream(fos);
+            EncryptionOutputData outData;
+            while ((outData = EncryptionOutputDataIO.read(in)) != null) {
+                if (!Arrays.equals(header.encryptedKey, outData.getEncryptedKey())) {
+                    throw new IOException("record " + count + " is not encrypted with the shard key: " + file);
+                }
+                out.write(decryptor.decrypt(outData));
+                out.write('\n');
+                count++;
+            }
+            if (count != shard.getRecordCount()
+                    || !KeyFingerprint.toHexString(digest.digest()).equals(shard.getSha256())) {
+                throw new IOException("the shard does not match the manifest: " + file);
+            }
+            out.flush();
+            fos.getChannel().force(true);
+            verified = true;
+        } finally {
+            if (!verified) {
+                Files.deleteIfExists(output);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * メイン関数。以下の引数で1つのシャードを復号します。
+     * キーストアのパスワードと秘密鍵のパスワードは、コマンドラインに残らないように標準入力から1行ずつ読み込みます。
+     * <pre>
+     * ShardWorker マニフェスト シャード番号 出力ファイル キーストア 別名 [キーストアのタイプ]
+     * </pre>
+     * 
+     * @param args コマンドライン引数
+     * @throws Exception 復号処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("usage: ShardWorker MANIFEST SHARD OUTPUT KEYSTORE ALIAS [STORE_TYPE]"
+                    + " (STORE_PASSWORD and KEY_PASSWORD are read from the standard input)");
+            System.exit(2);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String storePassword = reader.readLine();
+        String keyPassword = reader.readLine();
+        if (storePassword == null || keyPassword == null) {
+            System.err.println("STORE_PASSWORD and KEY_PASSWORD must be given in the standard input.");
+            System.exit(2);
+        }
+        String keyStoreType = args.length > 5 ? args[5] : "JCEKS";
+        KeyStoreKeyInfo keyInfo = new KeyStoreKeyInfo(args[4], keyStoreType, args[3], storePassword);
+        int index = Integer.parseInt(args[1]);
+        long start = System.nanoTime();
+        long count = decrypt(Paths.get(args[0]), index, new RSADecryptor(keyInfo, keyPassword), Paths.get(args[2]));
+        System.out.println("shard = " + index + ", records = " + count + ", elapsed = "
+                + (System.nanoTime() - start) / 1000000 + "ms");
+    }
+}
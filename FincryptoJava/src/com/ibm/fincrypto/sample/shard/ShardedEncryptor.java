@@ -0,0 +1,269 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.shard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.EncryptionOutputDataIO;
+import com.ibm.fincrypto.sample.RSAEncryptor;
+import com.ibm.fincrypto.sample.key.KeyFingerprint;
+import com.ibm.fincrypto.sample.key.KeyInfo;
+import com.ibm.fincrypto.sample.key.PKCS8KeyInfo;
+
+/**
+ * 平文のファイルを1行ずつ暗号化し、独立して復号できる複数のシャード・ファイルとマニフェストを出力するクラスです。
+ * <p>
+ * 入力ファイルはバイト数でほぼ均等に、行の境界で分割します。シャードごとに新しいAES鍵で暗号化し、
+ * RSA公開鍵で暗号化したAES鍵をシャード・ファイルのヘッダーに記録するため、各シャードは他のシャードなしで復号できます。
+ * シャードは並列に暗号化し、すべてのシャード・ファイルを同期した後に{@link ShardManifest}を保存します。
+ * 復号は{@link ShardWorker}で1つのシャードずつ、もしくは{@link ShardCoordinator}で複数のプロセスに分散して行います。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class ShardedEncryptor {
+
+    /**
+     * RSA公開鍵情報
+     */
+    private final KeyInfo keyInfo;
+    /**
+     * シャードの数
+     */
+    private final int shardCount;
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param keyInfo RSA公開鍵情報
+     * @param shardCount シャードの数 (入力の行数が少ない場合は、これより少なくなります)
+     * @throws IllegalArgumentException 公開鍵情報に<code>null</code>が指定された場合、もしくはシャードの数が正でない場合
+     * @since 1.10
+     */
+    public ShardedEncryptor(KeyInfo keyInfo, int shardCount) throws IllegalArgumentException {
+        if (keyInfo == null) {
+            throw new IllegalArgumentException("keyInfo must be not null.");
+        }
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive.");
+        }
+        this.keyInfo = keyInfo;
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * ファイルを暗号化し、シャード・ファイルとマニフェストをディレクトリに出力します。
+     * 
+     * @param input 平文のファイル (UTF-8で1行に1件)
+     * @param directory 出力先のディレクトリ
+     * @return マニフェスト
+     * @throws IOException ファイルの入出力で例外がスローされた場合、もしくは空の行がある場合
+     * @throws GeneralSecurityException 暗号化処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public ShardManifest encrypt(final Path input, final Path directory) throws IOException, GeneralSecurityException {
+        Files.createDirectories(directory);
+        long[] bounds = split(input);
+        List<Callable<ShardManifest.Shard>> tasks = new ArrayList<>();
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            final int index = i;
+            final long start = bounds[i];
+            final long end = bounds[i + 1];
+            tasks.add(() -> encryptShard(input, start, end, index, directory.resolve(ShardFile.fileName(index))));
+        }
+
+        List<ShardManifest.Shard> shards = new ArrayList<>(tasks.size());
+        ExecutorService executor = Executors
+                .newFixedThreadPool(Math.max(1, Math.min(tasks.size(), Runtime.getRuntime().availableProcessors())));
+        try {
+            long firstRecord = 0;
+            for (Future<ShardManifest.Shard> future : executor.invokeAll(tasks)) {
+                ShardManifest.Shard shard = future.get();
+                shards.add(new ShardManifest.Shard(shard.getFileName(), firstRecord, shard.getRecordCount(),
+                        shard.getSha256(), shard.getKeyId()));
+                firstRecord += shard.getRecordCount();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while encrypting shards.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("failed to encrypt shards.", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+        ShardManifest manifest = new ShardManifest(shards);
+        manifest.save(directory.resolve(ShardManifest.FILE_NAME));
+        return manifest;
+    }
+
+    /**
+     * 入力ファイルをバイト数でほぼ均等に、行の境界で分割します。
+     * 
+     * @param input 平文のファイル
+     * @return 各シャードの開始位置と、最後にファイルの長さを格納した配列 (空のシャードは含まない。空のファイルの場合は空の配列)
+     * @throws IOException ファイルの入力で例外がスローされた場合
+     */
+    private long[] split(Path input) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return new long[0];
+            }
+            bounds.add(0L);
+            ByteBuffer buf = ByteBuffer.allocate(8192);
+            for (int i = 1; i < shardCount; i++) {
+                // 分割位置の直前から最初の改行を探し、その次の位置からシャードを始める
+                long position = Math.max(bounds.get(bounds.size() - 1), size * i / shardCount - 1);
+                long start = -1;
+                while (start < 0 && position < size) {
+                    buf.clear();
+                    int n = channel.read(buf, position);
+                    for (int j = 0; j < n; j++) {
+                        if (buf.get(j) == '\n') {
+                            start = position + j + 1;
+                            break;
+                        }
+                    }
+                    position += Math.max(n, 0);
+                }
+                if (start < 0 || start >= size) {
+                    break;
+                }
+                if (start > bounds.get(bounds.size() - 1)) {
+                    bounds.add(start);
+                }
+            }
+            bounds.add(size);
+        }
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * 入力ファイルの指定された範囲の行を暗号化して、1つのシャード・ファイルに書き込みます。
+     * 
+     * @param input 平文のファイル
+     * @param start 範囲の開始位置 (行の先頭)
+     * @param end 範囲の終了位置 (次の行の先頭もしくはファイルの終わり)
+     * @param index シャード番号
+     * @param file シャード・ファイル
+     * @return シャードの情報 (最初のデータの番号は未設定)
+     * @throws IOException ファイルの入出力で例外がスローされた場合、もしくは空の行がある場合
+     * @throws GeneralSecurityException 暗号化処理で例外がスローされた場合
+     */
+    private ShardManifest.Shard encryptShard(Path input, long start, long end, int index, Path file)
+            throws IOException, GeneralSecurityException {
+        RSAEncryptor encryptor = new RSAEncryptor(keyInfo);
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        long count = 0;
+        byte[] keyId = null;
+        try (FileChannel inChannel = FileChannel.open(input, StandardOpenOption.READ);
+                FileOutputStream fos = new FileOutputStream(file.toFile())) {
+            inChannel.position(start);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(inChannel));
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new DigestOutputStream(fos, digest)));
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long position = start;
+            while (position < end) {
+                line.reset();
+                int b;
+                while (position < end && (b = in.read()) >= 0) {
+                    position++;
+                    if (b == '\n') {
+                        break;
+                    }
+                    line.write(b);
+                }
+                String plainText = line.toString(StandardCharsets.UTF_8.name());
+                if (plainText.endsWith("\r")) {
+                    plainText = plainText.substring(0, plainText.length() - 1);
+                }
+                if (plainText.isEmpty()) {
+                    throw new IOException("empty lines cannot be encrypted (shard " + index + ").");
+                }
+                EncryptionOutputData outData = encryptor.encryptData(plainText, null);
+                if (keyId == null) {
+                    // 最初のデータでAES鍵が生成されるため、そのAES鍵をヘッダーに記録する
+                    keyId = outData.getKeyId();
+                    new ShardFile(index, keyId, outData.getEncryptedKey()).write(out);
+                }
+                EncryptionOutputDataIO.write(out, outData);
+                count++;
+            }
+            out.flush();
+            fos.getChannel().force(true);
+        }
+        return new ShardManifest.Shard(file.getFileName().toString(), 0, count,
+                KeyFingerprint.toHexString(digest.digest()), KeyFingerprint.toHexString(keyId));
+    }
+
+    /**
+     * メイン関数。以下の引数でファイルを暗号化します。
+     * <pre>
+     * ShardedEncryptor 入力ファイル 出力ディレクトリ シャードの数 公開鍵(PKCS#8 DER)
+     * </pre>
+     * 
+     * @param args コマンドライン引数
+     * @throws Exception 暗号化処理で例外がスローされた場合
+     * @since 1.10
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: ShardedEncryptor INPUT DIRECTORY SHARDS PUBLIC_KEY_DER");
+            System.exit(2);
+        }
+        ShardedEncryptor encryptor = new ShardedEncryptor(new PKCS8KeyInfo(args[3]), Integer.parseInt(args[2]));
+        long start = System.nanoTime();
+        ShardManifest manifest = encryptor.encrypt(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println("records = " + manifest.getRecordCount() + ", shards = " + manifest.getShards().size()
+                + ", elapsed = " + (System.nanoTime() - start) / 1000000 + "ms");
+    }
+}
@@ -0,0 +1,25 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+
+/**
+ * 暗号化結果を独立して復号できる複数のシャードに分割して出力し、複数のプロセスで並列に復号する機能を提供します。
+ * <pre>
+ * java -cp bin com.ibm.fincrypto.sample.shard.ShardedEncryptor input.txt shards 8 alice.der
+ * printf 'alicepass\nalicepass\n' | java -cp bin com.ibm.fincrypto.sample.shard.ShardCoordinator \
+ *     shards/manifest.properties output.txt 4 alice.jck alice
+ * </pre>
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+package com.ibm.fincrypto.sample.shard;
\ No newline at end of file
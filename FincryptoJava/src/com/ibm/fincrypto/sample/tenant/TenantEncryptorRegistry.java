@@ -0,0 +1,473 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.tenant;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.ibm.fincrypto.sample.EncryptionOutputData;
+import com.ibm.fincrypto.sample.RSAEncryptor;
+import com.ibm.fincrypto.sample.key.KeyInfo;
+
+/**
+ * テナントごとの{@link RSAEncryptor}を保持する、上限付きのLRUキャッシュです。
+ * テナントごとにRSA公開鍵の読み込みとAES鍵の生成・RSA暗号化を一度だけ行い、以降の暗号化ではそれを再利用します。
+ * <p>
+ * キャッシュにないテナントは最初の要求で{@link TenantKeyLoader}から読み込みます。同じテナントに対する要求が同時に届いた場合も
+ * 読み込みは1回だけ行い、他のスレッドはその完了を待ちます。読み込みに失敗した場合は待っていたすべてのスレッドに例外がスローされ、
+ * 失敗はキャッシュしません。
+ * <p>
+ * テナントの数が上限を超えると最も長く使われていないテナントを追い出します。追い出したテナントで暗号化中のスレッドがある場合は
+ * それが終わるのを待ってから{@link TenantEvictionListener}に通知し、{@link RSAEncryptor#destroy()}でAES鍵を破棄します。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public class TenantEncryptorRegistry {
+
+    /**
+     * 保持するテナントの数の上限のデフォルト値
+     */
+    public static final int DEFAULT_MAX_TENANTS = 1024;
+
+    /**
+     * テナントのRSA公開鍵情報を読み込む機能
+     */
+    private final TenantKeyLoader loader;
+    /**
+     * 保持するテナントの数の上限
+     */
+    private final int maxTenants;
+    /**
+     * テナントIDごとのエントリー (アクセス順、<code>this</code>で同期する)
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * 追い出しの通知先
+     */
+    private volatile TenantEvictionListener evictionListener = null;
+    /**
+     * キャッシュにあったテナントへの要求の数 (読み込み中のテナントへの要求を含む)
+     */
+    private final LongAdder hitCount = new LongAdder();
+    /**
+     * キャッシュになかったテナントへの要求の数 (読み込みの回数)
+     */
+    private final LongAdder missCount = new LongAdder();
+    /**
+     * 読み込みに失敗した回数
+     */
+    private final LongAdder loadFailureCount = new LongAdder();
+    /**
+     * 上限を超えたために追い出したテナントの数
+     */
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * コンストラクタ。保持するテナントの数の上限は{@link #DEFAULT_MAX_TENANTS}になります。
+     * 
+     * @param loader テナントのRSA公開鍵情報を読み込む機能
+     * @throws IllegalArgumentException 引数に<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public TenantEncryptorRegistry(TenantKeyLoader loader) throws IllegalArgumentException {
+        this(loader, DEFAULT_MAX_TENANTS);
+    }
+
+    /**
+     * コンストラクタ。
+     * 
+     * @param loader テナントのRSA公開鍵情報を読み込む機能
+     * @param maxTenants 保持するテナントの数の上限
+     * @throws IllegalArgumentException 引数に<code>null</code>もしくは正でない値が指定された場合
+     * @since 1.10
+     */
+    public TenantEncryptorRegistry(TenantKeyLoader loader, int maxTenants) throws IllegalArgumentException {
+        if (loader == null) {
+            throw new IllegalArgumentException("loader must be not null.");
+        }
+        if (maxTenants <= 0) {
+            throw new IllegalArgumentException("maxTenants must be positive.");
+        }
+        this.loader = loader;
+        this.maxTenants = maxTenants;
+    }
+
+    /**
+     * 追い出しの通知先を設定します。
+     * 
+     * @param listener 通知先 (<code>null</code>の場合は通知しない)
+     * @since 1.10
+     */
+    public void setEvictionListener(TenantEvictionListener listener) {
+        this.evictionListener = listener;
+    }
+
+    /**
+     * テナントのRSA公開鍵で暗号化します。初期化ベクトルには平文のハッシュ値を使用します。
+     * 
+     * @param tenantId テナントID
+     * @param plainText 暗号化を行うデータ(平文)
+     * @return AES暗号化結果データ
+     * @throws GeneralSecurityException 暗号化もしくは鍵の処理で例外がスローされた場合
+     * @throws IOException テナントの鍵の読み込みで例外がスローされた場合
+     * @since 1.10
+     */
+    public EncryptionOutputData encrypt(String tenantId, String plainText)
+            throws GeneralSecurityException, IOException {
+        return encrypt(tenantId, plainText, null);
+    }
+
+    /**
+     * テナントのRSA公開鍵で暗号化します。
+     * 
+     * @param tenantId テナントID
+     * @param plainText 暗号化を行うデータ(平文)
+     * @param initVct 初期化ベクトル (<code>null</code>の場合は平文のハッシュ値を使用する)
+     * @return AES暗号化結果データ
+     * @throws GeneralSecurityException 暗号化もしくは鍵の処理で例外がスローされた場合
+     * @throws IOException テナントの鍵の読み込みで例外がスローされた場合
+     * @throws IllegalArgumentException テナントIDに<code>null</code>が指定された場合
+     * @since 1.10
+     */
+    public EncryptionOutputData encrypt(String tenantId, String plainText, byte[] initVct)
+            throws GeneralSecurityException, IOException, IllegalArgumentException {
+        if (tenantId == null) {
+            throw new IllegalArgumentException("tenantId must be not null.");
+        }
+        Entry entry = acquire(tenantId);
+        try {
+            return await(entry).encryptData(plainText, initVct);
+        } finally {
+            release(entry);
+        }
+    }
+
+    /**
+     * テナントのエントリーを取得し、使用中の数を1つ増やします。キャッシュにない場合はこのスレッドで読み込みます。
+     * 
+     * @param tenantId テナントID
+     * @return エントリー
+     */
+    private Entry acquire(String tenantId) {
+        Entry entry;
+        boolean load = false;
+        List<Entry> evicted = null;
+        synchronized (this) {
+            entry = entries.get(tenantId);
+            if (entry == null) {
+                entry = new Entry(tenantId);
+                entries.put(tenantId, entry);
+                load = true;
+                evicted = evictOverflow();
+            }
+            entry.leases++;
+        }
+        if (load) {
+            missCount.increment();
+            load(entry);
+            try {
+                for (Entry e : evicted) {
+                    destroy(e);
+                }
+            } catch (RuntimeException | Error e) {
+                // 通知先が例外をスローした場合も使用中の数を戻す
+                release(entry);
+                throw e;
+            }
+        } else {
+            hitCount.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * エントリーの使用中の数を1つ減らし、追い出されたエントリーを誰も使用していなければ破棄します。
+     * 
+     * @param entry エントリー
+     */
+    private void release(Entry entry) {
+        boolean destroy;
+        synchronized (this) {
+            entry.leases--;
+            destroy = entry.removed && entry.leases == 0;
+        }
+        if (destroy) {
+            destroy(entry);
+        }
+    }
+
+    /**
+     * 上限を超えた分のエントリーを古い順に取り除きます。<code>this</code>で同期して呼び出します。
+     * 
+     * @return 取り除いたエントリーのうち、誰も使用していないもの
+     */
+    private List<Entry> evictOverflow() {
+        List<Entry> evicted = new ArrayList<>();
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > maxTenants) {
+            Entry eldest = it.next();
+            it.remove();
+            eldest.removed = true;
+            evictionCount.increment();
+            if (eldest.leases == 0) {
+                evicted.add(eldest);
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * テナントのRSA公開鍵情報を読み込んでエントリーを完成させます。公開鍵はここで取得し、不正な鍵をキャッシュしないようにします。
+     * 
+     * @param entry エントリー
+     */
+    private void load(Entry entry) {
+        try {
+            KeyInfo keyInfo = loader.load(entry.tenantId);
+            if (keyInfo == null) {
+                throw new GeneralSecurityException("no key for tenant: " + entry.tenantId);
+            }
+            keyInfo.getPublicKey();
+            entry.future.complete(new RSAEncryptor(keyInfo));
+        } catch (Throwable e) {
+            loadFailureCount.increment();
+            synchronized (this) {
+                if (entries.get(entry.tenantId) == entry) {
+                    entries.remove(entry.tenantId);
+                }
+                entry.removed = true;
+            }
+            // 例外は読み込みを待っているすべてのスレッド (このスレッドを含む) にawaitでスローされる
+            entry.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * エントリーの読み込みの完了を待ちます。
+     * 
+     * @param entry エントリー
+     * @return 暗号化機能
+     * @throws GeneralSecurityException 鍵の処理で例外がスローされた場合
+     * @throws IOException 鍵の読み込みで例外がスローされた場合、もしくは待機中に割り込まれた場合
+     */
+    private static RSAEncryptor await(Entry entry) throws GeneralSecurityException, IOException {
+        try {
+            return entry.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while loading tenant: " + entry.tenantId, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("cannot load tenant: " + entry.tenantId, cause);
+        }
+    }
+
+    /**
+     * 取り除かれたエントリーの追い出しを通知し、AES鍵を破棄します。読み込みに失敗したエントリーは何もしません。
+     * 
+     * @param entry エントリー
+     */
+    private void destroy(Entry entry) {
+        if (!entry.future.isDone() || entry.future.isCompletedExceptionally()) {
+            return;
+        }
+        RSAEncryptor encryptor = entry.future.join();
+        TenantEvictionListener listener = evictionListener;
+        try {
+            if (listener != null) {
+                listener.onEviction(entry.tenantId, encryptor);
+            }
+        } finally {
+            encryptor.destroy();
+        }
+    }
+
+    /**
+     * テナントをキャッシュから取り除きます。鍵を更新した場合などに使用し、次の要求で再び読み込みます。
+     * 
+     * @param tenantId テナントID
+     * @return テナントがキャッシュにあった場合は<code>true</code>
+     * @since 1.10
+     */
+    public boolean invalidate(String tenantId) {
+        Entry entry;
+        boolean destroy;
+        synchronized (this) {
+            entry = entries.remove(tenantId);
+            if (entry == null) {
+                return false;
+            }
+            entry.removed = true;
+            destroy = entry.leases == 0;
+        }
+        if (destroy) {
+            destroy(entry);
+        }
+        return true;
+    }
+
+    /**
+     * すべてのテナントをキャッシュから取り除きます。
+     * 
+     * @since 1.10
+     */
+    public void clear() {
+        List<Entry> removed = new ArrayList<>();
+        synchronized (this) {
+            for (Entry entry : entries.values()) {
+                entry.removed = true;
+                if (entry.leases == 0) {
+                    removed.add(entry);
+                }
+            }
+            entries.clear();
+        }
+        for (Entry entry : removed) {
+            destroy(entry);
+        }
+    }
+
+    /**
+     * キャッシュにあるテナントの数を返します。
+     * 
+     * @return テナントの数 (読み込み中のテナントを含む)
+     * @since 1.10
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * キャッシュにあったテナントへの要求の数を返します。読み込み中のテナントへの要求もキャッシュにあったものとして数えます。
+     * 
+     * @return 要求の数
+     * @since 1.10
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * キャッシュになかったテナントへの要求の数、すなわち鍵を読み込んだ回数を返します。
+     * 
+     * @return 要求の数
+     * @since 1.10
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 鍵の読み込みに失敗した回数を返します。
+     * 
+     * @return 失敗した回数
+     * @since 1.10
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount.sum();
+    }
+
+    /**
+     * 上限を超えたために追い出したテナントの数を返します。{@link #invalidate(String)}と{@link #clear()}で取り除いたものは含みません。
+     * 
+     * @return 追い出したテナントの数
+     * @since 1.10
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * キャッシュのヒット率を返します。
+     * 
+     * @return ヒット率 (0から1まで、要求がない場合は0)
+     * @since 1.10
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * このインスタンスの文字列表現を返します。文字列表現には以下が含まれます。
+     * <ul>
+     * <li>キャッシュにあるテナントの数と上限
+     * <li>ヒット数、ミス数、ヒット率
+     * <li>読み込みに失敗した回数
+     * <li>追い出したテナントの数
+     * </ul>
+     * 
+     * @return 文字列表現
+     * @since 1.10
+     */
+    @Override
+    public String toString() {
+        final String nl = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+        sb.append("tenants = ").append(size()).append(" / ").append(maxTenants).append(nl);
+        sb.append("hits = ").append(getHitCount()).append(", misses = ").append(getMissCount());
+        sb.append(", hitRate = ").append(String.format("%.4f", getHitRate())).append(nl);
+        sb.append("loadFailures = ").append(getLoadFailureCount()).append(nl);
+        sb.append("evictions = ").append(getEvictionCount());
+        return sb.toString();
+    }
+
+    /**
+     * 1つのテナントのエントリーです。
+     */
+    private static final class Entry {
+        /**
+         * テナントID
+         */
+        final String tenantId;
+        /**
+         * 読み込みが完了すると暗号化機能を返す<code>CompletableFuture</code>
+         */
+        final CompletableFuture<RSAEncryptor> future = new CompletableFuture<>();
+        /**
+         * 使用中のスレッドの数 (<code>TenantEncryptorRegistry</code>で同期する)
+         */
+        int leases = 0;
+        /**
+         * キャッシュから取り除かれた場合は<code>true</code> (<code>TenantEncryptorRegistry</code>で同期する)
+         */
+        boolean removed = false;
+
+        /**
+         * コンストラクタ。
+         * 
+         * @param tenantId テナントID
+         */
+        Entry(String tenantId) {
+            this.tenantId = tenantId;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.tenant;
+
+import com.ibm.fincrypto.sample.RSAEncryptor;
+
+/**
+ * {@link TenantEncryptorRegistry}からテナントの暗号化機能が追い出された場合に通知を受けるインターフェースです。
+ * 通知はそのテナントの暗号化がすべて終わってから、AES鍵を破棄する直前に行われます。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public interface TenantEvictionListener {
+    /**
+     * テナントの暗号化機能が追い出されたことを通知します。このメソッドが返った後にAES鍵は破棄されます。
+     * 
+     * @param tenantId テナントID
+     * @param encryptor 追い出された暗号化機能
+     * @since 1.10
+     */
+    public void onEviction(String tenantId, RSAEncryptor encryptor);
+}
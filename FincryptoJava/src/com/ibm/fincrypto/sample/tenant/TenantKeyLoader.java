@@ -0,0 +1,38 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+package com.ibm.fincrypto.sample.tenant;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+import com.ibm.fincrypto.sample.key.KeyInfo;
+
+/**
+ * テナントIDからそのテナントのRSA公開鍵情報を読み込むインターフェースです。
+ * {@link TenantEncryptorRegistry}はテナントごとに一度だけ (キャッシュから追い出された場合は再び) 呼び出します。
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+public interface TenantKeyLoader {
+    /**
+     * テナントのRSA公開鍵情報を読み込みます。
+     * 
+     * @param tenantId テナントID
+     * @return RSA公開鍵情報
+     * @throws GeneralSecurityException 鍵の処理で例外がスローされた場合
+     * @throws IOException 鍵の読み込みで例外がスローされた場合
+     * @since 1.10
+     */
+    public KeyInfo load(String tenantId) throws GeneralSecurityException, IOException;
+}
@@ -0,0 +1,25 @@
+// Licensed Materials - Property of IBM
+// 6949-XXX:Encryption and Key Management API for Financial Institutions
+// Copyright IBM Japan, Ltd. 2017 All Rights Reserved.
+//
+// DISCLAIMER OF WARRANTIES:
+// The following code is a sample code created by IBM Japan, Ltd.
+// This sample code is not part of any standard IBM product and is provided
+// to you solely for the purpose of assisting you in the development of
+// your applications. The code is provided "AS IS", without warranty of
+// any kind. IBM shall not be liable for any damages arising out of your
+// use of the sample code, even if they have been advised of the
+// possibility of such damages.
+
+/**
+ * テナントごとに異なるRSA公開鍵で暗号化する場合に、テナントごとの暗号化機能をキャッシュして再利用する機能を提供します。
+ * <pre>
+ * TenantEncryptorRegistry registry = new TenantEncryptorRegistry(
+ *         tenantId -&gt; new PKCS8KeyInfo("keys/" + tenantId + ".der"), 500);
+ * EncryptionOutputData outData = registry.encrypt("tenant-0001", "plain text");
+ * </pre>
+ * 
+ * @version 1.10, 2026/10/18
+ * @since 1.10
+ */
+package com.ibm.fincrypto.sample.tenant;
\ No newline at end of file